@@ -0,0 +1,75 @@
+package ru.joke.git.benchmarks;
+
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.joke.git.commands.AutoGitCommand;
+import ru.joke.git.commands.AutoGitJsonBindings;
+import ru.joke.git.config.WindowCacheConfiguration;
+import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonService;
+import ru.joke.git.shared.ProgressMonitorStorage;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public abstract class AbstractRepositoryBenchmark {
+
+    @Param("1000")
+    public int files;
+
+    @Param("100")
+    public int historyDepth;
+
+    @Param("10")
+    public int branches;
+
+    @Param("{}")
+    public String windowCache;
+
+    protected SyntheticRepository repository;
+
+    private int revision;
+
+    @Setup(Level.Trial)
+    public void createRepository() throws IOException {
+        final var jsonService = new JsonService(new AutoGitJsonBindings());
+        jsonService.deserialize(this.windowCache, WindowCacheConfiguration.class).configure();
+        ProgressMonitorStorage.setProgressMonitorFactory(command -> NullProgressMonitor.INSTANCE);
+
+        this.repository = SyntheticRepository.generate(this.files, this.historyDepth, this.branches);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteRepository() throws IOException {
+        this.repository.close();
+    }
+
+    protected <R> R call(final AutoGitCommand<R, ?, ?> command) {
+        return GitStorage.callWith(this.repository.work(), command::call);
+    }
+
+    protected String nextUniqueFile() {
+        return "benchmark/change-%08d.txt".formatted(++this.revision);
+    }
+
+    protected int nextRevision() {
+        return ++this.revision;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.joke.git.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import ru.joke.git.commands.AutoGitAddCommand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class AddBenchmark extends AbstractRepositoryBenchmark {
+
+    @Param("10")
+    public int modifiedFiles;
+
+    private AutoGitAddCommand add;
+
+    @Setup(Level.Trial)
+    public void createCommand() {
+        this.add = AutoGitAddCommand.builder().withFilesPattern(".").build();
+    }
+
+    @Setup(Level.Invocation)
+    public void modifyFiles() throws IOException {
+        final var files = this.repository.files();
+        final var revision = nextRevision();
+        for (int i = 0; i < Math.min(this.modifiedFiles, files.size()); i++) {
+            final var file = files.get((revision * this.modifiedFiles + i) % files.size());
+            Files.writeString(this.repository.workDir().resolve(file), SyntheticRepository.content(file, revision), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public Boolean add() {
+        return call(this.add);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.joke.git.benchmarks;
+
+import org.eclipse.jgit.api.CherryPickResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import ru.joke.git.commands.AutoGitCherryPickCommand;
+
+import java.io.IOException;
+
+public class CherryPickBenchmark extends AbstractRepositoryBenchmark {
+
+    private static final String SOURCE_BRANCH = "cherry-pick-source";
+
+    private AutoGitCherryPickCommand cherryPick;
+
+    @Setup(Level.Trial)
+    public void createSourceBranch() throws Exception {
+        this.repository.work().branchCreate().setName(SOURCE_BRANCH).call();
+    }
+
+    @Setup(Level.Invocation)
+    public void createCommit() throws IOException {
+        final var file = nextUniqueFile();
+        final var commitId = this.repository.commitFile(this.repository.work().getRepository(), SOURCE_BRANCH, file, file);
+        this.cherryPick = AutoGitCherryPickCommand.builder()
+                                                   .withCommitHash(commitId.name())
+                                                   .withNoCommit(false)
+                                                   .build();
+    }
+
+    @Benchmark
+    public CherryPickResult cherryPick() {
+        return call(this.cherryPick);
+    }
+}
@@ -0,0 +1,87 @@
+package ru.joke.git.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.joke.classpath.ClassPathResource;
+import ru.joke.classpath.ClassResource;
+import ru.joke.classpath.scanner.ClassPathScanner;
+import ru.joke.git.commands.AutoGitCommand;
+import ru.joke.git.commands.AutoGitCommandFactory;
+import ru.joke.git.commands.AutoGitJsonBindings;
+import ru.joke.git.shared.JsonService;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class CommandFactoryBenchmark {
+
+    @Benchmark
+    public void indexedWithoutParams(final Blackhole blackhole) {
+        final var commandFactory = new AutoGitCommandFactory(new JsonService(new AutoGitJsonBindings()));
+        for (final var alias : commandFactory.aliases()) {
+            blackhole.consume(commandFactory.create(alias, null));
+        }
+    }
+
+    @Benchmark
+    public void indexedWithJsonParams(final Blackhole blackhole) {
+        final var commandFactory = new AutoGitCommandFactory(new JsonService(new AutoGitJsonBindings()));
+        for (final var alias : commandFactory.aliases()) {
+            blackhole.consume(commandFactory.create(alias, "{}"));
+        }
+    }
+
+    @Benchmark
+    public void scannedWithoutParams(final Blackhole blackhole) {
+        final Map<String, Class<AutoGitCommand<?, ?, ?>>> commandsMap = new HashMap<>();
+        final var commandsRefs =
+                ClassPathScanner.builder()
+                                    .begin()
+                                        .implementsInterface(AutoGitCommand.class)
+                                    .build()
+                                    .scan();
+        commandsRefs
+                .stream()
+                .filter(command -> !command.aliases().isEmpty())
+                .forEach(
+                        command -> command.aliases().forEach(commandAlias -> commandsMap.put(commandAlias, loadClass(command)))
+                );
+
+        for (final var commandClass : commandsMap.values()) {
+            blackhole.consume(createUnconfiguredCommand(commandClass));
+        }
+    }
+
+    private static AutoGitCommand<?, ?, ?> createUnconfiguredCommand(final Class<AutoGitCommand<?, ?, ?>> commandType) {
+        try {
+            final var defaultConstructor = commandType.getDeclaredConstructor();
+            defaultConstructor.setAccessible(true);
+            return defaultConstructor.newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Class<AutoGitCommand<?, ?, ?>> loadClass(final ClassPathResource resource) {
+        try {
+            @SuppressWarnings("unchecked")
+            final var classResource = (ClassResource<AutoGitCommand<?, ?, ?>>) resource;
+            return classResource.asClass();
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.joke.git.benchmarks;
+
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import ru.joke.git.commands.AutoGitCommitCommand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class CommitBenchmark extends AbstractRepositoryBenchmark {
+
+    @Param("10")
+    public int modifiedFiles;
+
+    private AutoGitCommitCommand commit;
+
+    @Setup(Level.Trial)
+    public void createCommand() {
+        this.commit = AutoGitCommitCommand.builder().withMessage("Benchmark commit").build();
+    }
+
+    @Setup(Level.Invocation)
+    public void stageChanges() throws IOException, GitAPIException {
+        final var files = this.repository.files();
+        final var revision = nextRevision();
+        final var add = this.repository.work().add();
+        for (int i = 0; i < Math.min(this.modifiedFiles, files.size()); i++) {
+            final var file = files.get((revision * this.modifiedFiles + i) % files.size());
+            Files.writeString(this.repository.workDir().resolve(file), SyntheticRepository.content(file, revision), StandardCharsets.UTF_8);
+            add.addFilepattern(file);
+        }
+
+        add.call();
+    }
+
+    @Benchmark
+    public String commit() {
+        return call(this.commit);
+    }
+}
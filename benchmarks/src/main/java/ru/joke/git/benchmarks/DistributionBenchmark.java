@@ -0,0 +1,57 @@
+package ru.joke.git.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import ru.joke.git.commands.AutoGitCherryPickCommand;
+import ru.joke.git.commands.AutoGitDistributionCommand;
+import ru.joke.git.commands.AutoGitPullCommand;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class DistributionBenchmark extends AbstractRepositoryBenchmark {
+
+    private static final String SOURCE_BRANCH = "distribution-source";
+
+    @Param("5")
+    public int targetBranches;
+
+    @Param("1")
+    public int parallelism;
+
+    @Param({ "false", "true" })
+    public boolean inMemory;
+
+    private List<String> distributionBranches;
+    private AutoGitDistributionCommand distribution;
+
+    @Setup(Level.Trial)
+    public void createSourceBranch() throws Exception {
+        this.repository.work().branchCreate().setName(SOURCE_BRANCH).call();
+
+        final var branches = this.repository.branches();
+        this.distributionBranches = branches.subList(0, Math.min(this.targetBranches, branches.size()));
+    }
+
+    @Setup(Level.Invocation)
+    public void createCommit() throws IOException {
+        final var file = nextUniqueFile();
+        final var commitId = this.repository.commitFile(this.repository.work().getRepository(), SOURCE_BRANCH, file, file);
+        this.distribution =
+                AutoGitDistributionCommand.builder()
+                                          .withCherryPick(AutoGitCherryPickCommand.builder().withCommitHash(commitId.name()).withNoCommit(false).build())
+                                          .withPull(AutoGitPullCommand.builder().withRemote(SyntheticRepository.ORIGIN_REMOTE).build())
+                                          .withBranches(this.distributionBranches)
+                                          .withParallelism(this.parallelism)
+                                          .withInMemory(this.inMemory)
+                                          .build();
+    }
+
+    @Benchmark
+    public Map<String, AutoGitDistributionCommand.BranchPublicationResult> distribute() {
+        return call(this.distribution);
+    }
+}
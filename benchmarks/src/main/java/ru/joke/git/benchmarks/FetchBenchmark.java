@@ -0,0 +1,30 @@
+package ru.joke.git.benchmarks;
+
+import org.eclipse.jgit.transport.FetchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import ru.joke.git.commands.AutoGitFetchCommand;
+
+import java.io.IOException;
+
+public class FetchBenchmark extends AbstractRepositoryBenchmark {
+
+    private AutoGitFetchCommand fetch;
+
+    @Setup(Level.Trial)
+    public void createCommand() {
+        this.fetch = AutoGitFetchCommand.builder().withRemote(SyntheticRepository.ORIGIN_REMOTE).build();
+    }
+
+    @Setup(Level.Invocation)
+    public void createRemoteCommit() throws IOException {
+        final var file = nextUniqueFile();
+        this.repository.commitFile(this.repository.origin().getRepository(), SyntheticRepository.MAIN_BRANCH, file, file);
+    }
+
+    @Benchmark
+    public FetchResult fetch() {
+        return call(this.fetch);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.joke.git.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.joke.git.commands.AutoGitCommitCommand;
+import ru.joke.git.commands.AutoGitDistributionCommand;
+import ru.joke.git.commands.AutoGitJsonBindings;
+import ru.joke.git.commands.AutoGitPushCommand;
+import ru.joke.git.commands.AutoGitStatusCommand;
+import ru.joke.git.shared.JsonService;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBindingBenchmark {
+
+    private static final String COMMIT_JSON = "{\"message\": \"Benchmark commit\", \"all\": true, \"no.verify\": true}";
+    private static final String PUSH_JSON = "{\"remote\": \"origin\", \"ref.specs\": [\"main\", \"release\"], \"atomic\": true}";
+    private static final String DISTRIBUTION_JSON =
+            "{\"branches\": [\"release-1.0\", \"release-1.1\", \"release-2.0\"], "
+                    + "\"cherry.pick\": {\"refs\": [\"0123456789abcdef0123456789abcdef01234567\"]}, "
+                    + "\"parallelism\": 4, \"in.memory\": true, \"batch.push\": true}";
+    private static final String BRANCH_PUBLICATION_RESULT_JSON =
+            "{\"pushed.commits\": [\"0123456789abcdef0123456789abcdef01234567\", \"89abcdef0123456789abcdef0123456789abcdef\"], "
+                    + "\"push.status\": \"OK\", \"estimated.files.written\": 12, \"actual.files.written\": 10, \"retries\": 1}";
+
+    @Param({ "generated", "reflective" })
+    public String bindings;
+
+    private JsonService jsonService;
+    private AutoGitStatusCommand.Status status;
+    private AutoGitDistributionCommand.BranchPublicationResult branchPublicationResult;
+
+    @Setup
+    public void createJsonService() {
+        this.jsonService = new JsonService("generated".equals(this.bindings) ? new AutoGitJsonBindings() : new NoBindings());
+        this.status = new AutoGitStatusCommand.Status(
+                Set.of("src/Added.java"),
+                Set.of("src/Changed.java", "pom.xml"),
+                Set.of(),
+                Set.of(),
+                Set.of("src/Modified.java", "README.md"),
+                Set.of("notes.txt"),
+                Map.of(),
+                Set.of("src/Changed.java", "src/Modified.java", "README.md")
+        );
+        this.branchPublicationResult = this.jsonService.deserialize(BRANCH_PUBLICATION_RESULT_JSON, AutoGitDistributionCommand.BranchPublicationResult.class);
+    }
+
+    @Benchmark
+    public AutoGitCommitCommand readCommit() {
+        return this.jsonService.deserialize(COMMIT_JSON, AutoGitCommitCommand.class);
+    }
+
+    @Benchmark
+    public AutoGitPushCommand readPush() {
+        return this.jsonService.deserialize(PUSH_JSON, AutoGitPushCommand.class);
+    }
+
+    @Benchmark
+    public AutoGitDistributionCommand readDistribution() {
+        return this.jsonService.deserialize(DISTRIBUTION_JSON, AutoGitDistributionCommand.class);
+    }
+
+    @Benchmark
+    public String writeStatus() {
+        return this.jsonService.serializeCompact(this.status);
+    }
+
+    @Benchmark
+    public String writeBranchPublicationResult() {
+        return this.jsonService.serializeCompact(this.branchPublicationResult);
+    }
+
+    private static final class NoBindings implements TypeAdapterFactory {
+
+        @Override
+        public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+            return null;
+        }
+    }
+}
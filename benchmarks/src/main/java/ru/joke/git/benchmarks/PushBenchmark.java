@@ -0,0 +1,34 @@
+package ru.joke.git.benchmarks;
+
+import org.eclipse.jgit.transport.PushResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import ru.joke.git.commands.AutoGitPushCommand;
+
+import java.io.IOException;
+
+public class PushBenchmark extends AbstractRepositoryBenchmark {
+
+    private AutoGitPushCommand push;
+
+    @Setup(Level.Trial)
+    public void createCommand() {
+        this.push =
+                AutoGitPushCommand.builder()
+                                  .withRemote(SyntheticRepository.ORIGIN_REMOTE)
+                                  .withRefSpec(SyntheticRepository.MAIN_BRANCH)
+                                  .build();
+    }
+
+    @Setup(Level.Invocation)
+    public void createCommit() throws IOException {
+        final var file = nextUniqueFile();
+        this.repository.commitFile(this.repository.work().getRepository(), SyntheticRepository.MAIN_BRANCH, file, file);
+    }
+
+    @Benchmark
+    public Iterable<PushResult> push() {
+        return call(this.push);
+    }
+}
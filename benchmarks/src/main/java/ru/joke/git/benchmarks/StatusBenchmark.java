@@ -0,0 +1,35 @@
+package ru.joke.git.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import ru.joke.git.commands.AutoGitStatusCommand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class StatusBenchmark extends AbstractRepositoryBenchmark {
+
+    @Param("10")
+    public int modifiedFiles;
+
+    private AutoGitStatusCommand status;
+
+    @Setup(Level.Trial)
+    public void modifyFiles() throws IOException {
+        final var files = this.repository.files();
+        for (int i = 0; i < Math.min(this.modifiedFiles, files.size()); i++) {
+            final var file = files.get(i);
+            Files.writeString(this.repository.workDir().resolve(file), SyntheticRepository.content(file, -1), StandardCharsets.UTF_8);
+        }
+
+        this.status = AutoGitStatusCommand.builder().build();
+    }
+
+    @Benchmark
+    public AutoGitStatusCommand.Status status() {
+        return call(this.status);
+    }
+}
@@ -0,0 +1,221 @@
+package ru.joke.git.benchmarks;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.URIish;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import ru.joke.git.generator.RepositoryShape;
+import ru.joke.git.generator.SyntheticRepositoryGenerator;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+final class SyntheticRepository implements AutoCloseable {
+
+    static final String MAIN_BRANCH = SyntheticRepositoryGenerator.MAIN_BRANCH;
+    static final String ORIGIN_REMOTE = "origin";
+
+    private static final String BRANCH_PREFIX = "branch-";
+    private static final int MIN_FILE_SIZE = 64;
+    private static final int MAX_FILE_SIZE = 1024;
+    private static final PersonIdent IDENT = new PersonIdent("AutoGitOps Benchmark", "benchmark@auto.git.ops");
+
+    private final Path root;
+    private final Git work;
+    private final Git origin;
+    private final List<String> files;
+    private final List<String> branches;
+
+    private SyntheticRepository(
+            final Path root,
+            final Git work,
+            final Git origin,
+            final List<String> files,
+            final List<String> branches
+    ) {
+        this.root = root;
+        this.work = work;
+        this.origin = origin;
+        this.files = files;
+        this.branches = branches;
+    }
+
+    static SyntheticRepository generate(
+            final int fileCount,
+            final int historyDepth,
+            final int branchCount
+    ) throws IOException {
+        final var root = Files.createTempDirectory("auto-git-ops-benchmark");
+        final var workDir = root.resolve("work");
+        final var originDir = root.resolve("origin.git");
+
+        try {
+            final var shape =
+                    RepositoryShape.builder()
+                                   .withFiles(fileCount)
+                                   .withCommits(historyDepth + 1)
+                                   .withBranches(branchCount)
+                                   .withChangedFilesPerCommit(1)
+                                   .withRenameRate(0)
+                                   .withMinFileSize(MIN_FILE_SIZE)
+                                   .withMaxFileSize(MAX_FILE_SIZE)
+                                   .build();
+            new SyntheticRepositoryGenerator(shape).generate(workDir, false, NullProgressMonitor.INSTANCE);
+
+            final var work = Git.open(workDir.toFile());
+            final var config = work.getRepository().getConfig();
+            config.setString("user", null, "name", IDENT.getName());
+            config.setString("user", null, "email", IDENT.getEmailAddress());
+            config.setBoolean("commit", null, "gpgsign", false);
+            config.save();
+
+            final var files = listFiles(work.getRepository());
+            final var branches =
+                    work.getRepository()
+                        .getRefDatabase()
+                        .getRefsByPrefix(Constants.R_HEADS + BRANCH_PREFIX)
+                        .stream()
+                        .map(ref -> Repository.shortenRefName(ref.getName()))
+                        .toList();
+
+            final var origin =
+                    Git.cloneRepository()
+                        .setBare(true)
+                        .setCloneAllBranches(true)
+                        .setURI(workDir.toUri().toString())
+                        .setDirectory(originDir.toFile())
+                        .call();
+
+            work.remoteAdd().setName(ORIGIN_REMOTE).setUri(new URIish(originDir.toUri().toString())).call();
+            work.fetch().setRemote(ORIGIN_REMOTE).call();
+            for (final var branch : branches) {
+                trackOrigin(work.getRepository(), branch);
+            }
+            trackOrigin(work.getRepository(), MAIN_BRANCH);
+
+            return new SyntheticRepository(root, work, origin, files, branches);
+        } catch (GitAPIException | URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    Git work() {
+        return this.work;
+    }
+
+    Git origin() {
+        return this.origin;
+    }
+
+    List<String> files() {
+        return this.files;
+    }
+
+    List<String> branches() {
+        return this.branches;
+    }
+
+    Path workDir() {
+        return this.work.getRepository().getWorkTree().toPath();
+    }
+
+    ObjectId commitFile(
+            final Repository repository,
+            final String branch,
+            final String file,
+            final String content
+    ) throws IOException {
+        final var refName = Constants.R_HEADS + branch;
+        final var parentId = repository.resolve(refName);
+
+        try (final var inserter = repository.newObjectInserter();
+             final var revWalk = new RevWalk(repository)) {
+            final var index = DirCache.newInCore();
+            final var builder = index.builder();
+            final var parentTree = revWalk.parseCommit(parentId).getTree();
+            try (final var reader = repository.newObjectReader()) {
+                builder.addTree(new byte[0], DirCacheEntry.STAGE_0, reader, parentTree);
+            }
+
+            final var entry = new DirCacheEntry(file);
+            entry.setFileMode(FileMode.REGULAR_FILE);
+            entry.setObjectId(inserter.insert(Constants.OBJ_BLOB, content.getBytes(StandardCharsets.UTF_8)));
+            builder.add(entry);
+            builder.finish();
+
+            final var commit = new CommitBuilder();
+            commit.setTreeId(index.writeTree(inserter));
+            commit.setParentId(parentId);
+            commit.setAuthor(IDENT);
+            commit.setCommitter(IDENT);
+            commit.setMessage("Benchmark change " + file);
+
+            final var commitId = inserter.insert(commit);
+            inserter.flush();
+
+            final var refUpdate = repository.updateRef(refName);
+            refUpdate.setNewObjectId(commitId);
+            refUpdate.setExpectedOldObjectId(parentId);
+            final var result = refUpdate.update(revWalk);
+            if (result != RefUpdate.Result.FAST_FORWARD && result != RefUpdate.Result.NEW) {
+                throw new IllegalStateException("Unable to update %s: %s".formatted(refName, result));
+            }
+
+            return commitId;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.work.close();
+        this.origin.close();
+
+        try (final Stream<Path> paths = Files.walk(this.root)) {
+            for (final var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    static String content(final String file, final int revision) {
+        return file + " revision " + revision + System.lineSeparator();
+    }
+
+    private static List<String> listFiles(final Repository repository) throws IOException {
+        final var files = new ArrayList<String>();
+        try (final var treeWalk = new TreeWalk(repository)) {
+            treeWalk.addTree(repository.parseCommit(repository.resolve(Constants.HEAD)).getTree());
+            treeWalk.setRecursive(true);
+            while (treeWalk.next()) {
+                files.add(treeWalk.getPathString());
+            }
+        }
+
+        return files;
+    }
+
+    private static void trackOrigin(final Repository repository, final String branch) throws IOException {
+        final var config = repository.getConfig();
+        config.setString("branch", branch, "remote", ORIGIN_REMOTE);
+        config.setString("branch", branch, "merge", Constants.R_HEADS + branch);
+        config.save();
+    }
+}
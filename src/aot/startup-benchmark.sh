@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+jar="$1"
+aot_cache="$2"
+repo_path="$3"
+runs="${4:-10}"
+java_bin="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+config="{\"repo.path\": \"$repo_path\", \"output.mode\": \"COMPACT\"}"
+
+measure() {
+    local total=0
+    local elapsed
+    for ((i = 0; i < runs; i++)); do
+        local started
+        started=$(date +%s%N)
+        echo "status" | "$java_bin" "$@" -jar "$jar" "cfg=$config" "batch=-" > /dev/null 2>&1
+        elapsed=$(( ($(date +%s%N) - started) / 1000000 ))
+        total=$((total + elapsed))
+    done
+    echo $((total / runs))
+}
+
+cold=$(measure -Xshare:auto)
+archived=$(measure "-XX:AOTCache=$aot_cache")
+
+echo "Startup benchmark over $runs runs of 'status' in batch mode"
+echo "Cold launch:     ${cold} ms"
+echo "Archived launch: ${archived} ms"
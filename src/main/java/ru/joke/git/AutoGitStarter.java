@@ -1,19 +1,32 @@
 package ru.joke.git;
 
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.lib.TextProgressMonitor;
 import ru.joke.git.commands.AutoGitCommandFactory;
+import ru.joke.git.commands.AutoGitJsonBindings;
 import ru.joke.git.config.ApplicationConfiguration;
+import ru.joke.git.config.MetricsConfiguration;
+import ru.joke.git.config.OutputMode;
+import ru.joke.git.config.ProgressConfiguration;
+import ru.joke.git.config.RepositoryRegistryConfiguration;
 import ru.joke.git.shared.*;
 import ru.joke.git.shared.auth.GlobalCredentialsInitializer;
 import ru.joke.git.shared.auth.SshdSessionFactoryInitializer;
+import ru.joke.git.shared.metrics.CommandMetricsRegistry;
+import ru.joke.git.shared.metrics.CommandMetricsRegistryStorage;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.security.GeneralSecurityException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -29,15 +42,68 @@ abstract class AutoGitStarter {
     private static final String AWAIT_NEXT_COMMAND_INFO = "Ready to next commands...";
     private static final String STARTED_INFO = "Started, ready to execute commands";
     private static final String STOPPED_INFO = "Successfully stopped";
+    private static final String DAEMON_STARTED_INFO = "Started in daemon mode, listening on %s";
 
     private static final String CONFIG_PARAM = "cfg";
-
-    private static final JsonService jsonService = new JsonService();
+    private static final int STD_IO_BUFFER_SIZE = 64 * 1024;
+
+    private static final String BATCH_PARAM = "batch";
+    private static final String BATCH_ON_ERROR_PARAM = "batch.on.error";
+    private static final String BATCH_STDIN = "-";
+    private static final String DAEMON_SOCKET_PARAM = "daemon.socket";
+    private static final String DAEMON_SHUTDOWN_TIMEOUT_PARAM = "daemon.shutdown.timeout.seconds";
+    private static final long DEFAULT_DAEMON_SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final String DAEMON_MAX_SESSION_REQUESTS_PARAM = "daemon.max.session.requests";
+    private static final int DEFAULT_DAEMON_MAX_SESSION_REQUESTS = 1;
+    private static final String TRAINING_RUN_PARAM = "training.run";
+
+    private static final JsonService jsonService = new JsonService(new AutoGitJsonBindings());
     private static final AutoGitCommandFactory commandFactory = new AutoGitCommandFactory(jsonService);
+    private static final Writer stdOutWriter = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), STD_IO_BUFFER_SIZE);
+    private static volatile OutputMode defaultOutputMode = OutputMode.PRETTY;
+    private static final StartupTimer startupTimer = new StartupTimer();
+    private static final CommandMetricsRegistry metricsRegistry = new CommandMetricsRegistry();
+    private static final CommandDispatcher commandDispatcher =
+            new CommandDispatcher(
+                    commandFactory,
+                    new ParallelCommandGroupExecutor(jsonService),
+                    new FanOutExecutor(jsonService),
+                    startupTimer,
+                    metricsRegistry
+            );
+
+    static void main(String[] args) throws IOException {
+
+        final var argsMap = parseArgs(args);
+        initializeSharedResources(argsMap);
+        startupTimer.ready();
+
+        final var trainingRunDir = argsMap.get(TRAINING_RUN_PARAM);
+        if (trainingRunDir != null) {
+            new TrainingRun(jsonService, commandDispatcher, commandFactory.aliases()).execute(Path.of(trainingRunDir));
+            println(STOPPED_INFO);
+            return;
+        }
 
-    static void main(String[] args) throws GeneralSecurityException, IOException {
+        final var daemonSocket = argsMap.get(DAEMON_SOCKET_PARAM);
+        if (daemonSocket != null) {
+            serveAsDaemon(
+                    Path.of(daemonSocket),
+                    argsMap.get(DAEMON_SHUTDOWN_TIMEOUT_PARAM),
+                    argsMap.get(DAEMON_MAX_SESSION_REQUESTS_PARAM)
+            );
+            println(STOPPED_INFO);
+            return;
+        }
 
-        initializeSharedResources(args);
+        final var batchSource = argsMap.get(BATCH_PARAM);
+        if (batchSource != null) {
+            final var summary = executeBatch(batchSource, argsMap.get(BATCH_ON_ERROR_PARAM));
+            if (summary.failed() > 0) {
+                System.exit(1);
+            }
+            return;
+        }
 
         println(STARTED_INFO);
 
@@ -53,6 +119,43 @@ abstract class AutoGitStarter {
         println(STOPPED_INFO);
     }
 
+    private static void serveAsDaemon(
+            final Path socketPath,
+            final String shutdownTimeoutSeconds,
+            final String maxSessionRequests
+    ) throws IOException {
+        final var shutdownTimeout =
+                Duration.ofSeconds(
+                        shutdownTimeoutSeconds == null
+                                ? DEFAULT_DAEMON_SHUTDOWN_TIMEOUT_SECONDS
+                                : Long.parseLong(shutdownTimeoutSeconds)
+                );
+        final var sessionRequests =
+                maxSessionRequests == null
+                        ? DEFAULT_DAEMON_MAX_SESSION_REQUESTS
+                        : Integer.parseInt(maxSessionRequests);
+        final var daemonServer = new DaemonServer(socketPath, jsonService, commandDispatcher, shutdownTimeout, sessionRequests);
+        Runtime.getRuntime().addShutdownHook(new Thread(daemonServer::close));
+
+        println(DAEMON_STARTED_INFO.formatted(socketPath));
+        daemonServer.serve();
+    }
+
+    private static BatchExecutor.BatchSummary executeBatch(final String batchSource, final String onError) throws IOException {
+        final var errorPolicy =
+                onError == null
+                        ? BatchExecutor.ErrorPolicy.STOP
+                        : BatchExecutor.ErrorPolicy.valueOf(onError.toUpperCase(Locale.ROOT));
+        final var batchExecutor = new BatchExecutor(jsonService, commandDispatcher, errorPolicy);
+
+        try (final var input =
+                     BATCH_STDIN.equals(batchSource)
+                             ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), STD_IO_BUFFER_SIZE)
+                             : Files.newBufferedReader(Path.of(batchSource), StandardCharsets.UTF_8)) {
+            return batchExecutor.execute(input, stdOutWriter);
+        }
+    }
+
     private static void executeCommandNoEx(final String parameters) {
         try {
             executeCommand(parameters);
@@ -63,18 +166,29 @@ abstract class AutoGitStarter {
         println(AWAIT_NEXT_COMMAND_INFO);
     }
 
-    private static void executeCommand(final String commandStr) {
+    private static void executeCommand(final String commandStr) throws IOException {
         final var commands = commandStr.split(COMMAND_DELIMITER);
         for (var command : commands) {
-            final var commandData = command.split(PARAM_DELIMITER, 2);
+            final var commandLine = CommandLine.parse(command, defaultOutputMode);
             println("Process command: " + command);
 
-            final var cmd = commandFactory.create(commandData[0], commandData[1]);
-            final var cmdResult = cmd.call();
-            final var cmdResultAsJson = jsonService.serialize(cmdResult);
+            final var cmdResult = commandDispatcher.dispatch(commandLine.alias(), commandLine.paramsJson());
 
             println("Output:");
-            println(cmdResultAsJson);
+            printResult(cmdResult, commandLine.outputMode());
+        }
+    }
+
+    private static void printResult(final Object cmdResult, final OutputMode outputMode) throws IOException {
+        if (outputMode == OutputMode.PRETTY) {
+            println(jsonService.serialize(cmdResult));
+            return;
+        }
+
+        synchronized (System.out) {
+            jsonService.serializeCompact(cmdResult, stdOutWriter);
+            stdOutWriter.write(System.lineSeparator());
+            stdOutWriter.flush();
         }
     }
 
@@ -85,15 +199,15 @@ abstract class AutoGitStarter {
                         .collect(Collectors.toMap(arg -> arg[0], arg -> arg[1]));
     }
 
-    private static void initializeSharedResources(final String[] args) throws GeneralSecurityException, IOException {
+    private static void initializeSharedResources(final Map<String, String> argsMap) {
 
-        final var argsMap = parseArgs(args);
         final var configJson = argsMap.get(CONFIG_PARAM);
         if (configJson == null) {
             throw new IllegalArgumentException("Config arg '%s' is required".formatted(CONFIG_PARAM));
         }
 
         final var config = jsonService.deserialize(configJson, ApplicationConfiguration.class);
+        defaultOutputMode = config.outputMode();
         final var authConfig = config.auth();
 
         initSshConfig(authConfig);
@@ -103,16 +217,19 @@ abstract class AutoGitStarter {
             initGitStorage(config.repoPath());
         }
 
-        initDefaultProgressMonitorStorage();
+        initRepositoryRegistryStorage(config.repositories());
+        initProgressMonitorStorage(config.progress(), argsMap.containsKey(DAEMON_SOCKET_PARAM));
+        initResultStreamWriterStorage();
         config.windowCache().configure();
+        initMetricsRegistryStorage(config.metrics());
     }
 
-    private static void initSshConfig(final ApplicationConfiguration.Auth authConfig) throws GeneralSecurityException, IOException {
+    private static void initSshConfig(final ApplicationConfiguration.Auth authConfig) {
         final var sshConfig = authConfig == null ? null : authConfig.ssh();
 
         if (sshConfig != null && sshConfig.pkFilePath() != null && !sshConfig.pkFilePath().isBlank()) {
             final var sshInitializer = new SshdSessionFactoryInitializer();
-            sshInitializer.initialize(sshConfig.pkFilePath(), sshConfig.passphrase(), sshConfig.useLegacyKex());
+            sshInitializer.initializeLazily(sshConfig.pkFilePath(), sshConfig.passphrase(), sshConfig.useLegacyKex());
         }
     }
 
@@ -125,16 +242,40 @@ abstract class AutoGitStarter {
         }
     }
 
-    private static void initDefaultProgressMonitorStorage() {
-        final var stdOutWriter = new PrintWriter(System.out, true, StandardCharsets.UTF_8);
-        final var progressMonitor = new TextProgressMonitor(stdOutWriter);
-        ProgressMonitorStorage.setProgressMonitor(progressMonitor);
+    private static void initProgressMonitorStorage(final ProgressConfiguration progressConfig, final boolean daemon) {
+        final var progressMonitorFactory = progressConfig.createProgressMonitorFactory(jsonService, daemon);
+        ProgressMonitorStorage.setProgressMonitorFactory(progressMonitorFactory);
+    }
+
+    private static void initResultStreamWriterStorage() {
+        final var resultStreamWriter = new ResultStreamWriter(jsonService, System.out);
+        ResultStreamWriterStorage.setResultStreamWriter(resultStreamWriter);
+    }
+
+    private static void initMetricsRegistryStorage(final MetricsConfiguration metricsConfig) {
+        metricsConfig.configure(metricsRegistry);
+        CommandMetricsRegistryStorage.setMetricsRegistry(metricsRegistry);
     }
 
-    private static void initGitStorage(final String repoPath) throws IOException {
-        final var git = Git.open(new File(repoPath));
-        GitStorage.setGit(git);
+    private static void initRepositoryRegistryStorage(final RepositoryRegistryConfiguration registryConfig) {
+        final var repositoryRegistry = registryConfig.createRegistry();
+        RepositoryRegistryStorage.setRepositoryRegistry(repositoryRegistry);
 
-        Runtime.getRuntime().addShutdownHook(new Thread(git::close));
+        Runtime.getRuntime().addShutdownHook(new Thread(repositoryRegistry::close));
+    }
+
+    private static void initGitStorage(final String repoPath) {
+        GitStorage.setGitFactory(() -> openGit(repoPath));
+    }
+
+    private static Git openGit(final String repoPath) {
+        try {
+            final var git = Git.open(new File(repoPath));
+            Runtime.getRuntime().addShutdownHook(new Thread(git::close));
+
+            return git;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 }
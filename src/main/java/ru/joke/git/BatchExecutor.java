@@ -0,0 +1,118 @@
+package ru.joke.git;
+
+import ru.joke.git.config.OutputMode;
+import ru.joke.git.shared.JsonService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+final class BatchExecutor {
+
+    private static final String COMMAND_DELIMITER = "\\|\\|";
+    private static final String COMMENT_PREFIX = "//";
+
+    private final JsonService jsonService;
+    private final CommandDispatcher commandDispatcher;
+    private final ErrorPolicy errorPolicy;
+
+    BatchExecutor(
+            final JsonService jsonService,
+            final CommandDispatcher commandDispatcher,
+            final ErrorPolicy errorPolicy
+    ) {
+        this.jsonService = jsonService;
+        this.commandDispatcher = commandDispatcher;
+        this.errorPolicy = errorPolicy;
+    }
+
+    BatchSummary execute(final BufferedReader input, final Writer output) throws IOException {
+        final var startedAt = System.nanoTime();
+
+        int total = 0;
+        int succeeded = 0;
+        int failed = 0;
+        int lineNumber = 0;
+        Integer firstFailedLine = null;
+
+        String line;
+        while ((line = input.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+
+            for (final var command : line.split(COMMAND_DELIMITER)) {
+                total++;
+
+                String commandName = command.strip();
+                BatchResult result;
+                try {
+                    final var commandLine = CommandLine.parse(command, OutputMode.COMPACT);
+                    commandName = commandLine.alias();
+                    final var cmdResult = this.commandDispatcher.dispatch(commandLine.alias(), commandLine.paramsJson());
+                    result = new BatchResult(lineNumber, commandName, cmdResult, null);
+                    succeeded++;
+                } catch (RuntimeException ex) {
+                    ex.printStackTrace(System.err);
+                    result = new BatchResult(lineNumber, commandName, null, String.valueOf(ex.getMessage()));
+                    failed++;
+                    if (firstFailedLine == null) {
+                        firstFailedLine = lineNumber;
+                    }
+                }
+
+                write(output, result);
+
+                if (result.error() != null && this.errorPolicy == ErrorPolicy.STOP) {
+                    return finish(output, new BatchSummary(total, succeeded, failed, true, firstFailedLine, elapsedMillis(startedAt)));
+                }
+            }
+        }
+
+        return finish(output, new BatchSummary(total, succeeded, failed, false, firstFailedLine, elapsedMillis(startedAt)));
+    }
+
+    private BatchSummary finish(final Writer output, final BatchSummary summary) throws IOException {
+        write(output, summary);
+        return summary;
+    }
+
+    private void write(final Writer output, final Object value) throws IOException {
+        synchronized (System.out) {
+            this.jsonService.serializeCompact(value, output);
+            output.write(System.lineSeparator());
+            output.flush();
+        }
+    }
+
+    private static long elapsedMillis(final long startedAtNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    enum ErrorPolicy {
+
+        STOP,
+
+        CONTINUE
+    }
+
+    record BatchResult(
+            int line,
+            String command,
+            Object result,
+            String error
+    ) {
+    }
+
+    record BatchSummary(
+            int total,
+            int succeeded,
+            int failed,
+            boolean stopped,
+            Integer firstFailedLine,
+            long elapsedMillis
+    ) {
+    }
+}
@@ -0,0 +1,78 @@
+package ru.joke.git;
+
+import ru.joke.git.commands.AutoGitCommandFactory;
+import ru.joke.git.shared.RepositoryRegistryStorage;
+import ru.joke.git.shared.metrics.CommandMetricsRegistry;
+
+import java.util.Set;
+
+final class CommandDispatcher {
+
+    private static final String REPO_SELECTOR_DELIMITER = "@";
+    private static final String PARALLEL_GROUP_COMMAND = "parallel";
+    private static final String FAN_OUT_COMMAND = "fan-out";
+    private static final String METRICS_COMMAND = "metrics";
+
+    private static final Set<String> PSEUDO_COMMANDS = Set.of(PARALLEL_GROUP_COMMAND, FAN_OUT_COMMAND, METRICS_COMMAND);
+
+    private final AutoGitCommandFactory commandFactory;
+    private final ParallelCommandGroupExecutor parallelGroupExecutor;
+    private final FanOutExecutor fanOutExecutor;
+    private final StartupTimer startupTimer;
+    private final CommandMetricsRegistry metricsRegistry;
+
+    CommandDispatcher(
+            final AutoGitCommandFactory commandFactory,
+            final ParallelCommandGroupExecutor parallelGroupExecutor,
+            final FanOutExecutor fanOutExecutor,
+            final StartupTimer startupTimer,
+            final CommandMetricsRegistry metricsRegistry
+    ) {
+        this.commandFactory = commandFactory;
+        this.parallelGroupExecutor = parallelGroupExecutor;
+        this.fanOutExecutor = fanOutExecutor;
+        this.startupTimer = startupTimer;
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    Object dispatch(final String command, final String paramsJson) {
+        try {
+            return doDispatch(command, paramsJson);
+        } finally {
+            this.startupTimer.commandCompleted();
+        }
+    }
+
+    private Object doDispatch(final String command, final String paramsJson) {
+        final var commandData = command.split(REPO_SELECTOR_DELIMITER, 2);
+        final var commandAlias = commandData[0];
+        final var repoSelector = commandData.length > 1 && !commandData[1].isBlank() ? commandData[1] : null;
+
+        if (repoSelector != null && isPseudoCommand(commandAlias)) {
+            throw new IllegalArgumentException("Repository selector is not supported by command: " + commandAlias);
+        }
+
+        if (PARALLEL_GROUP_COMMAND.equals(commandAlias)) {
+            return this.parallelGroupExecutor.execute(paramsJson, this::dispatch);
+        } else if (FAN_OUT_COMMAND.equals(commandAlias)) {
+            return this.fanOutExecutor.execute(paramsJson, this::dispatch);
+        } else if (METRICS_COMMAND.equals(commandAlias)) {
+            return this.metricsRegistry.snapshot();
+        }
+
+        final var cmd = this.commandFactory.create(commandAlias, paramsJson);
+        return repoSelector == null
+                ? cmd.call()
+                : RepositoryRegistryStorage.getRepositoryRegistry().callWith(repoSelector, cmd::call);
+    }
+
+    static boolean usesDefaultRepository(final String command) {
+        return !command.contains(REPO_SELECTOR_DELIMITER)
+                && !FAN_OUT_COMMAND.equals(command)
+                && !METRICS_COMMAND.equals(command);
+    }
+
+    static boolean isPseudoCommand(final String commandAlias) {
+        return PSEUDO_COMMANDS.contains(commandAlias);
+    }
+}
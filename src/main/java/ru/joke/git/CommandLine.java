@@ -0,0 +1,26 @@
+package ru.joke.git;
+
+import ru.joke.git.config.OutputMode;
+
+import java.util.Locale;
+
+record CommandLine(
+        String alias,
+        String paramsJson,
+        OutputMode outputMode
+) {
+
+    private static final String PARAM_DELIMITER = "=";
+    private static final String OUTPUT_MODE_DELIMITER = "#";
+
+    static CommandLine parse(final String command, final OutputMode defaultOutputMode) {
+        final var commandData = command.split(PARAM_DELIMITER, 2);
+        final var aliasData = commandData[0].trim().split(OUTPUT_MODE_DELIMITER, 2);
+        final var outputMode =
+                aliasData.length > 1
+                        ? OutputMode.valueOf(aliasData[1].toUpperCase(Locale.ROOT))
+                        : defaultOutputMode;
+
+        return new CommandLine(aliasData[0], commandData.length > 1 ? commandData[1] : null, outputMode);
+    }
+}
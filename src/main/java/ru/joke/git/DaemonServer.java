@@ -0,0 +1,254 @@
+package ru.joke.git;
+
+import com.google.gson.JsonElement;
+import ru.joke.git.shared.JsonService;
+import ru.joke.git.shared.ResultStreamWriter;
+import ru.joke.git.shared.ResultStreamWriterStorage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class DaemonServer implements AutoCloseable {
+
+    private static final String SHUTDOWN_COMMAND = "shutdown";
+
+    private final Path socketPath;
+    private final JsonService jsonService;
+    private final CommandDispatcher commandDispatcher;
+    private final Duration shutdownTimeout;
+    private final int maxSessionRequests;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<SocketChannel> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requestCounter = new AtomicLong();
+    private final ReentrantLock defaultRepositoryLock = new ReentrantLock();
+
+    private volatile ServerSocketChannel serverChannel;
+    private volatile boolean stopping;
+
+    DaemonServer(
+            final Path socketPath,
+            final JsonService jsonService,
+            final CommandDispatcher commandDispatcher,
+            final Duration shutdownTimeout,
+            final int maxSessionRequests
+    ) {
+        if (maxSessionRequests <= 0) {
+            throw new IllegalArgumentException("Max session requests must be positive");
+        }
+
+        this.socketPath = socketPath;
+        this.jsonService = jsonService;
+        this.commandDispatcher = commandDispatcher;
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxSessionRequests = maxSessionRequests;
+    }
+
+    void serve() throws IOException {
+        Files.deleteIfExists(this.socketPath);
+
+        this.serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        this.serverChannel.bind(UnixDomainSocketAddress.of(this.socketPath));
+
+        try {
+            while (!this.stopping) {
+                final var session = this.serverChannel.accept();
+                this.sessions.add(session);
+                this.executor.submit(() -> handleSession(session));
+            }
+        } catch (ClosedChannelException ex) {
+            if (!this.stopping) {
+                throw ex;
+            }
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.executor.isShutdown()) {
+            return;
+        }
+
+        this.stopping = true;
+        closeQuietly(this.serverChannel);
+        this.sessions.forEach(DaemonServer::shutdownInputQuietly);
+
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(this.shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                this.executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            Files.deleteIfExists(this.socketPath);
+        } catch (IOException e) {
+            e.printStackTrace(System.err);
+        }
+    }
+
+    private void handleSession(final SocketChannel session) {
+        try (session;
+             final var reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(session), StandardCharsets.UTF_8));
+             final var writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(session), StandardCharsets.UTF_8));
+             final var requestExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            final var permits = new Semaphore(this.maxSessionRequests);
+            String line;
+            while (!this.stopping && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                permits.acquire();
+                final var requestLine = line;
+                requestExecutor.submit(() -> {
+                    try {
+                        handleRequest(requestLine, writer);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            if (!this.stopping) {
+                ex.printStackTrace(System.err);
+            }
+        } finally {
+            this.sessions.remove(session);
+        }
+    }
+
+    private void handleRequest(final String requestLine, final BufferedWriter writer) {
+        final var startedAt = System.nanoTime();
+
+        DaemonRequest request = null;
+        DaemonResponse response;
+        try {
+            request = this.jsonService.deserialize(requestLine, DaemonRequest.class);
+            final var requestId = requestIdOf(request);
+
+            if (SHUTDOWN_COMMAND.equals(request.command())) {
+                response = new DaemonResponse(requestId, true, null, null, elapsedMillis(startedAt));
+                this.stopping = true;
+                closeQuietly(this.serverChannel);
+                this.sessions.forEach(DaemonServer::shutdownInputQuietly);
+            } else {
+                final var command = request.command();
+                final var paramsJson = request.params() == null || request.params().isJsonNull() ? null : request.params().toString();
+                final var resultStreamWriter = new ResultStreamWriter(this.jsonService, writer, event -> new DaemonEvent(requestId, event));
+                final var result =
+                        ResultStreamWriterStorage.callWith(
+                                resultStreamWriter,
+                                () -> dispatch(command, paramsJson)
+                        );
+                response = new DaemonResponse(requestId, true, result, null, elapsedMillis(startedAt));
+            }
+        } catch (RuntimeException ex) {
+            ex.printStackTrace(System.err);
+            response = new DaemonResponse(requestIdOf(request), false, null, String.valueOf(ex.getMessage()), elapsedMillis(startedAt));
+        }
+
+        synchronized (writer) {
+            try {
+                this.jsonService.serializeCompact(response, writer);
+                writer.write('\n');
+                writer.flush();
+            } catch (IOException ex) {
+                ex.printStackTrace(System.err);
+            }
+        }
+    }
+
+    private Object dispatch(final String command, final String paramsJson) {
+        if (!CommandDispatcher.usesDefaultRepository(command)) {
+            return this.commandDispatcher.dispatch(command, paramsJson);
+        }
+
+        this.defaultRepositoryLock.lock();
+        try {
+            return this.commandDispatcher.dispatch(command, paramsJson);
+        } finally {
+            this.defaultRepositoryLock.unlock();
+        }
+    }
+
+    private String requestIdOf(final DaemonRequest request) {
+        return request == null || request.id() == null
+                ? String.valueOf(this.requestCounter.incrementAndGet())
+                : request.id();
+    }
+
+    private static long elapsedMillis(final long startedAtNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    private static void shutdownInputQuietly(final SocketChannel session) {
+        try {
+            session.shutdownInput();
+        } catch (IOException ex) {
+            ex.printStackTrace(System.err);
+        }
+    }
+
+    private static void closeQuietly(final AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+
+        try {
+            closeable.close();
+        } catch (Exception ex) {
+            ex.printStackTrace(System.err);
+        }
+    }
+
+    record DaemonRequest(
+            String id,
+            String command,
+            JsonElement params
+    ) {
+    }
+
+    record DaemonEvent(
+            String id,
+            Object event
+    ) {
+    }
+
+    record DaemonResponse(
+            String id,
+            boolean successful,
+            Object result,
+            String error,
+            long durationMillis
+    ) {
+    }
+}
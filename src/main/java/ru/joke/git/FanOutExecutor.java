@@ -0,0 +1,294 @@
+package ru.joke.git;
+
+import com.google.gson.JsonElement;
+import ru.joke.git.shared.CommandScopeStorage;
+import ru.joke.git.shared.JsonService;
+import ru.joke.git.shared.ResultStreamWriterStorage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+final class FanOutExecutor {
+
+    private static final int DEFAULT_PARALLELISM = 8;
+    private static final long DEFAULT_TIMEOUT_SECONDS = 600;
+    private static final String REPO_SELECTOR_DELIMITER = "@";
+    private static final String GLOB_META_CHARS = "*?[{";
+    private static final String GIT_DIR = ".git";
+    private static final String BARE_REPOSITORY_MARKER = "HEAD";
+
+    private final JsonService jsonService;
+
+    FanOutExecutor(final JsonService jsonService) {
+        this.jsonService = jsonService;
+    }
+
+    FanOutSummary execute(
+            final String requestJson,
+            final BiFunction<String, String, Object> dispatcher
+    ) {
+        final var request = this.jsonService.deserialize(requestJson, FanOutRequest.class);
+        if (request == null || request.command() == null || request.command().isBlank()) {
+            throw new IllegalArgumentException("Inner command is required for fan-out");
+        }
+        if (request.command().contains(REPO_SELECTOR_DELIMITER)) {
+            throw new IllegalArgumentException("Inner command of fan-out must not contain repository selector");
+        }
+        if (CommandDispatcher.isPseudoCommand(request.command())) {
+            throw new IllegalArgumentException("Inner command of fan-out must be a repository command: " + request.command());
+        }
+
+        final var repositories = resolveRepositories(request);
+        final var resultStreamWriter = ResultStreamWriterStorage.getResultStreamWriter();
+        final var parentCommand = CommandScopeStorage.findCommand();
+        final var parallelism = request.parallelism() > 0 ? request.parallelism() : DEFAULT_PARALLELISM;
+        final var permits = new Semaphore(parallelism);
+        final var timeoutSeconds = request.timeoutSeconds() > 0 ? request.timeoutSeconds() : DEFAULT_TIMEOUT_SECONDS;
+        final var paramsJson = request.params() == null || request.params().isJsonNull() ? null : request.params().toString();
+
+        final var startedAt = System.nanoTime();
+        final var deadline = startedAt + TimeUnit.SECONDS.toNanos(timeoutSeconds) * Math.ceilDiv(repositories.size(), parallelism);
+        final List<Future<RepositoryResult>> futures = new ArrayList<>(repositories.size());
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (final var repository : repositories) {
+                futures.add(executor.submit(() -> {
+                    final var result = executeInRepository(
+                            permits,
+                            deadline,
+                            timeoutSeconds,
+                            () -> CommandScopeStorage.callWith(
+                                    parentCommand,
+                                    () -> ResultStreamWriterStorage.callWith(
+                                            resultStreamWriter,
+                                            () -> dispatcher.apply(request.command() + REPO_SELECTOR_DELIMITER + repository, paramsJson)
+                                    )
+                            ),
+                            repository
+                    );
+                    resultStreamWriter.write(result);
+                    return result;
+                }));
+            }
+        }
+
+        return summarize(repositories, futures, System.nanoTime() - startedAt);
+    }
+
+    private static RepositoryResult executeInRepository(
+            final Semaphore permits,
+            final long deadline,
+            final long timeoutSeconds,
+            final Callable<Object> action,
+            final String repository
+    ) throws InterruptedException {
+        final var queuedAt = System.nanoTime();
+        if (!permits.tryAcquire(deadline - queuedAt, TimeUnit.NANOSECONDS)) {
+            return new RepositoryResult(repository, Status.TIMED_OUT, null, "Timed out waiting for a free slot", elapsedMillis(queuedAt));
+        }
+
+        final var startedAt = System.nanoTime();
+        final var permitReleased = new AtomicBoolean();
+        final Runnable releasePermit = () -> {
+            if (permitReleased.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+
+        final var future = new CompletableFuture<>();
+        final var thread = Thread.ofVirtual().start(() -> {
+            try {
+                future.complete(action.call());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            } finally {
+                releasePermit.run();
+            }
+        });
+
+        try {
+            final var result = future.get(timeoutSeconds, TimeUnit.SECONDS);
+            return new RepositoryResult(repository, Status.SUCCEEDED, result, null, elapsedMillis(startedAt));
+        } catch (ExecutionException e) {
+            final var cause = e.getCause() == null ? e : e.getCause();
+            return new RepositoryResult(repository, Status.FAILED, null, String.valueOf(cause.getMessage()), elapsedMillis(startedAt));
+        } catch (TimeoutException e) {
+            cancel(thread, future, releasePermit);
+            return new RepositoryResult(repository, Status.TIMED_OUT, null, "Timed out after " + timeoutSeconds + "s", elapsedMillis(startedAt));
+        } catch (InterruptedException e) {
+            cancel(thread, future, releasePermit);
+            Thread.currentThread().interrupt();
+            return new RepositoryResult(repository, Status.FAILED, null, "Interrupted", elapsedMillis(startedAt));
+        }
+    }
+
+    private static void cancel(
+            final Thread thread,
+            final CompletableFuture<?> future,
+            final Runnable releasePermit
+    ) {
+        future.cancel(true);
+        thread.interrupt();
+        releasePermit.run();
+    }
+
+    private static FanOutSummary summarize(
+            final List<String> repositories,
+            final List<Future<RepositoryResult>> futures,
+            final long elapsedNanos
+    ) {
+        int succeeded = 0;
+        long minMillis = Long.MAX_VALUE;
+        long maxMillis = 0;
+        long totalMillis = 0;
+        final List<String> failedRepositories = new ArrayList<>();
+        final List<String> timedOutRepositories = new ArrayList<>();
+
+        for (int i = 0; i < futures.size(); i++) {
+            final var result = resultOf(repositories.get(i), futures.get(i));
+            switch (result.status()) {
+                case SUCCEEDED -> succeeded++;
+                case FAILED -> failedRepositories.add(result.repository());
+                case TIMED_OUT -> timedOutRepositories.add(result.repository());
+            }
+
+            minMillis = Math.min(minMillis, result.durationMillis());
+            maxMillis = Math.max(maxMillis, result.durationMillis());
+            totalMillis += result.durationMillis();
+        }
+
+        return new FanOutSummary(
+                futures.size(),
+                succeeded,
+                failedRepositories.size(),
+                timedOutRepositories.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                futures.isEmpty() ? 0 : minMillis,
+                maxMillis,
+                futures.isEmpty() ? 0 : totalMillis / futures.size(),
+                failedRepositories,
+                timedOutRepositories
+        );
+    }
+
+    private static RepositoryResult resultOf(final String repository, final Future<RepositoryResult> future) {
+        return switch (future.state()) {
+            case SUCCESS -> future.resultNow();
+            case FAILED -> new RepositoryResult(repository, Status.FAILED, null, String.valueOf(future.exceptionNow().getMessage()), 0);
+            case CANCELLED -> new RepositoryResult(repository, Status.TIMED_OUT, null, "Cancelled", 0);
+            case RUNNING -> {
+                future.cancel(true);
+                yield new RepositoryResult(repository, Status.TIMED_OUT, null, "Not completed", 0);
+            }
+        };
+    }
+
+    private static List<String> resolveRepositories(final FanOutRequest request) {
+        final Set<String> result = new LinkedHashSet<>();
+        if (request.repositories() != null) {
+            result.addAll(request.repositories());
+        }
+        if (request.glob() != null && !request.glob().isBlank()) {
+            expandGlob(request.glob()).forEach(result::add);
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("No repositories found for fan-out");
+        }
+
+        return new ArrayList<>(result);
+    }
+
+    private static List<String> expandGlob(final String glob) {
+        final var globPath = Path.of(glob).toAbsolutePath().normalize();
+
+        var baseDir = globPath;
+        while (baseDir != null && containsGlobMetaChars(baseDir.toString())) {
+            baseDir = baseDir.getParent();
+        }
+        if (baseDir == null || !Files.isDirectory(baseDir)) {
+            return List.of();
+        }
+
+        final var maxDepth = glob.contains("**") ? Integer.MAX_VALUE : globPath.getNameCount() - baseDir.getNameCount();
+        final var matcher = FileSystems.getDefault().getPathMatcher("glob:" + globPath);
+        try (final Stream<Path> paths = Files.walk(baseDir, maxDepth)) {
+            return paths
+                    .filter(matcher::matches)
+                    .filter(FanOutExecutor::isRepository)
+                    .map(Path::toString)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean containsGlobMetaChars(final String path) {
+        return path.chars().anyMatch(ch -> GLOB_META_CHARS.indexOf(ch) >= 0);
+    }
+
+    private static boolean isRepository(final Path path) {
+        return Files.isDirectory(path)
+                && (Files.exists(path.resolve(GIT_DIR)) || Files.isRegularFile(path.resolve(BARE_REPOSITORY_MARKER)));
+    }
+
+    private static long elapsedMillis(final long startedAtNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    record FanOutRequest(
+            List<String> repositories,
+            String glob,
+            String command,
+            JsonElement params,
+            int parallelism,
+            long timeoutSeconds
+    ) {
+    }
+
+    enum Status {
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT
+    }
+
+    record RepositoryResult(
+            String repository,
+            Status status,
+            Object result,
+            String error,
+            long durationMillis
+    ) {
+    }
+
+    record FanOutSummary(
+            int total,
+            int succeeded,
+            int failed,
+            int timedOut,
+            long elapsedMillis,
+            long minRepositoryMillis,
+            long maxRepositoryMillis,
+            long avgRepositoryMillis,
+            List<String> failedRepositories,
+            List<String> timedOutRepositories
+    ) {
+    }
+}
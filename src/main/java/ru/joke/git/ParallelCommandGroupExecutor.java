@@ -0,0 +1,97 @@
+package ru.joke.git;
+
+import com.google.gson.JsonElement;
+import org.eclipse.jgit.api.Git;
+import ru.joke.git.shared.CommandScopeStorage;
+import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonService;
+import ru.joke.git.shared.ResultStreamWriterStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+final class ParallelCommandGroupExecutor {
+
+    private final JsonService jsonService;
+
+    ParallelCommandGroupExecutor(final JsonService jsonService) {
+        this.jsonService = jsonService;
+    }
+
+    List<GroupMemberResult> execute(
+            final String groupJson,
+            final BiFunction<String, String, Object> memberDispatcher
+    ) {
+        final var members = this.jsonService.deserialize(groupJson, GroupMember[].class);
+        if (members == null || members.length == 0) {
+            throw new IllegalArgumentException("Parallel command group must contain at least one command");
+        }
+
+        final var resultStreamWriter = ResultStreamWriterStorage.findResultStreamWriter();
+        final var parentCommand = CommandScopeStorage.findCommand();
+        final var git = GitStorage.findGit();
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<Object>> futures = new ArrayList<>(members.length);
+            for (final var member : members) {
+                futures.add(executor.submit(() -> CommandScopeStorage.callWith(
+                        parentCommand,
+                        () -> ResultStreamWriterStorage.callWith(
+                                resultStreamWriter,
+                                () -> callWithGit(git, () -> memberDispatcher.apply(member.command(), member.paramsAsJson()))
+                        )
+                )));
+            }
+
+            final List<GroupMemberResult> results = new ArrayList<>(members.length);
+            for (int i = 0; i < members.length; i++) {
+                results.add(collectResult(i, members[i], futures.get(i)));
+            }
+
+            return results;
+        }
+    }
+
+    private static <T> T callWithGit(final Git git, final Supplier<T> action) {
+        return git == null ? action.get() : GitStorage.callWith(git, action);
+    }
+
+    private static GroupMemberResult collectResult(
+            final int position,
+            final GroupMember member,
+            final Future<Object> future
+    ) {
+        try {
+            return new GroupMemberResult(position, member.command(), future.get(), null);
+        } catch (ExecutionException e) {
+            final var cause = e.getCause() == null ? e : e.getCause();
+            cause.printStackTrace(System.err);
+            return new GroupMemberResult(position, member.command(), null, String.valueOf(cause.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    record GroupMember(
+            String command,
+            JsonElement params
+    ) {
+
+        String paramsAsJson() {
+            return this.params == null || this.params.isJsonNull() ? null : this.params.toString();
+        }
+    }
+
+    record GroupMemberResult(
+            int position,
+            String command,
+            Object result,
+            String error
+    ) {
+    }
+}
@@ -0,0 +1,39 @@
+package ru.joke.git;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class StartupTimer {
+
+    private static final String TIME_TO_READY_INFO = "Ready to execute commands after %d ms";
+    private static final String TIME_TO_FIRST_COMMAND_INFO = "Time to first command: %d ms";
+
+    private final Instant startedAt;
+    private final AtomicBoolean firstCommandCompleted = new AtomicBoolean();
+
+    private volatile long timeToFirstCommandMillis = -1;
+
+    StartupTimer() {
+        this.startedAt = ProcessHandle.current().info().startInstant().orElseGet(Instant::now);
+    }
+
+    void ready() {
+        System.err.println(TIME_TO_READY_INFO.formatted(elapsedMillis()));
+    }
+
+    void commandCompleted() {
+        if (this.firstCommandCompleted.compareAndSet(false, true)) {
+            this.timeToFirstCommandMillis = elapsedMillis();
+            System.err.println(TIME_TO_FIRST_COMMAND_INFO.formatted(this.timeToFirstCommandMillis));
+        }
+    }
+
+    long timeToFirstCommandMillis() {
+        return this.timeToFirstCommandMillis;
+    }
+
+    private long elapsedMillis() {
+        return Duration.between(this.startedAt, Instant.now()).toMillis();
+    }
+}
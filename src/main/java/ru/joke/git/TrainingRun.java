@@ -0,0 +1,93 @@
+package ru.joke.git;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.transport.SshSessionFactory;
+import org.eclipse.jgit.transport.URIish;
+import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonService;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+
+import static java.lang.IO.println;
+
+final class TrainingRun {
+
+    private static final String ORIGIN_REPO = "origin.git";
+    private static final String WORK_REPO = "work";
+    private static final String ORIGIN_REMOTE = "origin";
+    private static final String TRAINING_FILE = "training.txt";
+    private static final String EMPTY_PARAMS = "{}";
+    private static final Map<String, String> TRAINING_PARAMS = Map.of(
+            "checkout", "{\"ref\": \"training\", \"create.branch\": true}",
+            "commit", "{\"message\": \"training\"}",
+            "fetch", "{\"remote\": \"origin\"}"
+    );
+
+    private static final String TRAINING_STEP_INFO = "Training run: %s %s";
+    private static final String SUCCEEDED = "succeeded";
+    private static final String FAILED = "failed";
+
+    private final JsonService jsonService;
+    private final CommandDispatcher commandDispatcher;
+    private final Collection<String> commandAliases;
+
+    TrainingRun(
+            final JsonService jsonService,
+            final CommandDispatcher commandDispatcher,
+            final Collection<String> commandAliases
+    ) {
+        this.jsonService = jsonService;
+        this.commandDispatcher = commandDispatcher;
+        this.commandAliases = commandAliases;
+    }
+
+    void execute(final Path workDir) throws IOException {
+        SshSessionFactory.getInstance().getType();
+
+        try (final var git = createTrainingRepository(workDir)) {
+            for (final var alias : this.commandAliases) {
+                GitStorage.runWith(git, () -> executeStep(alias));
+            }
+        }
+    }
+
+    private void executeStep(final String alias) {
+        try {
+            final var result = this.commandDispatcher.dispatch(alias, TRAINING_PARAMS.getOrDefault(alias, EMPTY_PARAMS));
+            this.jsonService.serialize(result);
+            println(TRAINING_STEP_INFO.formatted(alias, SUCCEEDED));
+        } catch (RuntimeException ex) {
+            println(TRAINING_STEP_INFO.formatted(alias, FAILED + ": " + ex.getMessage()));
+        }
+    }
+
+    private Git createTrainingRepository(final Path workDir) throws IOException {
+        final var originDir = workDir.resolve(ORIGIN_REPO);
+        final var repoDir = workDir.resolve(WORK_REPO);
+        if (Files.exists(repoDir)) {
+            return Git.open(repoDir.toFile());
+        }
+
+        try {
+            Git.init().setBare(true).setDirectory(originDir.toFile()).call().close();
+
+            final var git = Git.init().setDirectory(repoDir.toFile()).call();
+            Files.writeString(repoDir.resolve(TRAINING_FILE), TRAINING_FILE, StandardCharsets.UTF_8);
+            git.add().addFilepattern(TRAINING_FILE).call();
+            git.commit().setMessage(TRAINING_FILE).setSign(false).call();
+            git.remoteAdd().setName(ORIGIN_REMOTE).setUri(new URIish(originDir.toUri().toString())).call();
+            git.push().setRemote(ORIGIN_REMOTE).setPushAll().call();
+
+            return git;
+        } catch (GitAPIException | URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.treewalk.FileTreeIterator;
 import ru.joke.classpath.ClassPathIndexed;
 import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonBinding;
 
 import java.io.IOException;
 import java.util.*;
@@ -22,7 +23,7 @@ public final class AutoGitAddCommand implements AutoGitCommand<Boolean, AutoGitA
     private final boolean update;
     private final List<String> files;
 
-    private AutoGitAddCommand() {
+    AutoGitAddCommand() {
         this(
                 DEFAULT_ALL,
                 false,
@@ -42,6 +43,10 @@ public final class AutoGitAddCommand implements AutoGitCommand<Boolean, AutoGitA
 
     @Override
     public Boolean call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private Boolean execute() {
         if (!this.update && !this.all && (this.files == null || this.files.isEmpty())) {
             throw new IllegalStateException("Files patterns to add is required for add command");
         }
@@ -134,6 +139,7 @@ public final class AutoGitAddCommand implements AutoGitCommand<Boolean, AutoGitA
             return this;
         }
 
+        @JsonBinding.Field("files")
         public AddCommandBuilder withFilesPatterns(final List<String> filesPatterns) {
             this.files.addAll(filesPatterns);
             return this;
@@ -20,7 +20,7 @@ public final class AutoGitCheckoutCommand implements AutoGitCommand<CheckoutResu
     private final CreateBranchCommand.SetupUpstreamMode upstreamMode;
     private final String startPoint;
 
-    private AutoGitCheckoutCommand() {
+    AutoGitCheckoutCommand() {
         this(
                 false,
                 false,
@@ -55,6 +55,10 @@ public final class AutoGitCheckoutCommand implements AutoGitCommand<CheckoutResu
 
     @Override
     public CheckoutResult call() {
+        return AutoGitCommandTracer.trace(this, this.ref, null, this::execute);
+    }
+
+    private CheckoutResult execute() {
         if (this.ref == null || this.ref.isBlank()) {
             throw new IllegalStateException("Ref to checkout is required for checkout command");
         }
@@ -66,7 +70,7 @@ public final class AutoGitCheckoutCommand implements AutoGitCommand<CheckoutResu
                     .setCreateBranch(this.createBranch)
                     .setOrphan(this.orphan)
                     .setForceRefUpdate(this.forceRefUpdate)
-                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("checkout"))
                     .setName(this.ref)
                     .setStage(this.stage)
                     .setUpstreamMode(this.upstreamMode)
@@ -25,7 +25,7 @@ public final class AutoGitCherryPickCommand implements AutoGitCommand<CherryPick
     private final ContentMergeStrategy contentMergeStrategy;
     private final MergeStrategy mergeStrategy;
 
-    private AutoGitCherryPickCommand() {
+    AutoGitCherryPickCommand() {
         this(
                 null,
                 DEFAULT_NO_COMMIT,
@@ -50,8 +50,20 @@ public final class AutoGitCherryPickCommand implements AutoGitCommand<CherryPick
         return Collections.unmodifiableList(this.refs);
     }
 
+    public ContentMergeStrategy getContentMergeStrategy() {
+        return this.contentMergeStrategy;
+    }
+
+    public MergeStrategy getMergeStrategy() {
+        return this.mergeStrategy;
+    }
+
     @Override
     public CherryPickResult call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private CherryPickResult execute() {
         if (this.refs == null || this.refs.isEmpty()) {
             throw new IllegalStateException("Commit hashes is required for cherry-pick command");
         }
@@ -70,7 +82,7 @@ public final class AutoGitCherryPickCommand implements AutoGitCommand<CherryPick
                     .setNoCommit(this.noCommit)
                     .setStrategy(this.mergeStrategy.getStrategy())
                     .setCherryPickCommitMessageProvider(RevCommit::getFullMessage)
-                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("cherry-pick"))
                     .setContentMergeStrategy(this.contentMergeStrategy)
                     .call();
         } catch (GitAPIException | IOException e) {
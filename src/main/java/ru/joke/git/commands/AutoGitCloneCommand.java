@@ -6,6 +6,7 @@ import org.eclipse.jgit.transport.TagOpt;
 import ru.joke.classpath.ClassPathIndexed;
 import ru.joke.git.shared.GitStorage;
 import ru.joke.git.shared.ProgressMonitorStorage;
+import ru.joke.git.shared.RepositoryRegistryStorage;
 
 import java.io.File;
 import java.util.Collections;
@@ -31,8 +32,9 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
     private final boolean noCheckout;
     private final TagOpt tags;
     private final String repoUri;
+    private final String registerAs;
 
-    private AutoGitCloneCommand() {
+    AutoGitCloneCommand() {
         this(
                 DEFAULT_INSTALL_AS_CTX,
                 false,
@@ -47,6 +49,7 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
                 null,
                 DEFAULT_NO_CHECKOUT,
                 null,
+                null,
                 null
         );
     }
@@ -65,7 +68,8 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
             final String targetDir,
             final boolean noCheckout,
             final TagOpt tags,
-            final String repoUri
+            final String repoUri,
+            final String registerAs
     ) {
         this.installAsContext = installAsContext;
         this.bare = bare;
@@ -81,10 +85,15 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
         this.noCheckout = noCheckout;
         this.tags = tags;
         this.repoUri = repoUri;
+        this.registerAs = registerAs;
     }
 
     @Override
     public String call() {
+        return AutoGitCommandTracer.trace(this, this.initialBranch, this.remote, this::execute);
+    }
+
+    private String execute() {
         if (this.repoUri == null || this.repoUri.isBlank()) {
             throw new IllegalStateException("Repo uri is required for clone command");
         }
@@ -98,7 +107,7 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
 
             final var git =
                     cloneCommand
-                            .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                            .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("clone"))
                             .setBranch(this.initialBranch)
                             .setBare(this.bare)
                             .setRemote(this.remote)
@@ -112,6 +121,12 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
                             .setTagOption(this.tags)
                             .setURI(this.repoUri)
                             .call();
+            if (this.registerAs != null) {
+                final var repository = git.getRepository();
+                final var repositoryPath = repository.isBare() ? repository.getDirectory() : repository.getWorkTree();
+                RepositoryRegistryStorage.getRepositoryRegistry().register(this.registerAs, repositoryPath.getAbsolutePath());
+            }
+
             if (this.installAsContext) {
                 GitStorage.setGit(git);
             } else {
@@ -140,7 +155,8 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
                 .withNoCheckout(this.noCheckout)
                 .withTags(this.tags)
                 .withTargetDir(this.targetDir)
-                .withRepoUri(this.repoUri);
+                .withRepoUri(this.repoUri)
+                .withRegisterAs(this.registerAs);
     }
 
     @Override
@@ -160,6 +176,7 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
                 + ", noCheckout=" + noCheckout 
                 + ", tags=" + tags 
                 + ", repoUri='" + repoUri + '\'' 
+                + ", registerAs='" + registerAs + '\''
                 + '}';
     }
 
@@ -175,7 +192,7 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
         private String remote;
         private String gitDirPath;
         private boolean cloneAllBranches;
-        private Set<String> branchesToClone;
+        private Set<String> branchesToClone = Collections.emptySet();
         private boolean cloneSubmodules;
         private int depth;
         private boolean mirror;
@@ -183,6 +200,7 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
         private boolean noCheckout = DEFAULT_NO_CHECKOUT;
         private TagOpt tags;
         private String repoUri;
+        private String registerAs;
 
         public CloneCommandBuilder withInstallAsContext(final boolean installAsContext) {
             this.installAsContext = installAsContext;
@@ -254,6 +272,11 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
             return this;
         }
 
+        public CloneCommandBuilder withRegisterAs(final String registerAs) {
+            this.registerAs = registerAs;
+            return this;
+        }
+
         @Override
         public AutoGitCloneCommand build() {
             return new AutoGitCloneCommand(
@@ -270,7 +293,8 @@ public final class AutoGitCloneCommand implements AutoGitCommand<String, AutoGit
                     this.targetDir,
                     this.noCheckout,
                     this.tags,
-                    this.repoUri
+                    this.repoUri,
+                    this.registerAs
             );
         }
     }
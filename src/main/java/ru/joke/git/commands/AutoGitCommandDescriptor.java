@@ -0,0 +1,9 @@
+package ru.joke.git.commands;
+
+import java.util.function.Supplier;
+
+record AutoGitCommandDescriptor(
+        Class<? extends AutoGitCommand<?, ?, ?>> type,
+        Supplier<? extends AutoGitCommand<?, ?, ?>> factory
+) {
+}
@@ -0,0 +1,37 @@
+package ru.joke.git.commands;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ru.joke.git.Command")
+@Label("AutoGitOps Command")
+@Description("Invocation of an AutoGitOps command, including commands nested into composite ones")
+@Category({ "AutoGitOps", "Commands" })
+@StackTrace(false)
+final class AutoGitCommandEvent extends Event {
+
+    @Label("Command")
+    String command;
+
+    @Label("Parent Command")
+    String parentCommand;
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Branch")
+    String branch;
+
+    @Label("Remote")
+    String remote;
+
+    @Label("Successful")
+    boolean successful;
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,62 @@
+package ru.joke.git.commands;
+
+import ru.joke.git.shared.CommandScopeStorage;
+import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.metrics.CommandMetricsRegistryStorage;
+
+import java.util.function.Supplier;
+
+final class AutoGitCommandTracer {
+
+    static <R> R trace(final AutoGitCommand<?, ?, ?> command, final Supplier<R> action) {
+        return trace(command, null, null, action);
+    }
+
+    static <R> R trace(
+            final AutoGitCommand<?, ?, ?> command,
+            final String branch,
+            final String remote,
+            final Supplier<R> action
+    ) {
+        final var alias = AutoGitCommandIndex.ALIASES.get(command.getClass());
+        final var parentCommand = CommandScopeStorage.findCommand();
+        final var event = new AutoGitCommandEvent();
+        if (!event.isEnabled()) {
+            return CommandScopeStorage.callWith(alias, () -> measure(alias, parentCommand == null, action));
+        }
+
+        event.command = alias;
+        event.parentCommand = parentCommand;
+        event.repository = findRepository();
+        event.branch = branch;
+        event.remote = remote;
+        event.begin();
+
+        try {
+            final var result = CommandScopeStorage.callWith(alias, () -> measure(alias, parentCommand == null, action));
+            event.successful = true;
+            return result;
+        } catch (RuntimeException ex) {
+            event.error = String.valueOf(ex.getMessage());
+            throw ex;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static <R> R measure(
+            final String alias,
+            final boolean topLevel,
+            final Supplier<R> action
+    ) {
+        final var metricsRegistry = CommandMetricsRegistryStorage.findMetricsRegistry();
+        return metricsRegistry == null ? action.get() : metricsRegistry.measure(alias, topLevel, action);
+    }
+
+    private static String findRepository() {
+        final var git = GitStorage.findGit();
+        return git == null ? null : String.valueOf(git.getRepository().getDirectory());
+    }
+
+    private AutoGitCommandTracer() {}
+}
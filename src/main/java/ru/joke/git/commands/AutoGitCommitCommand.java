@@ -20,7 +20,7 @@ public final class AutoGitCommitCommand implements AutoGitCommand<String, AutoGi
     private final boolean sign;
     private final String signingKey;
     
-    private AutoGitCommitCommand() {
+    AutoGitCommitCommand() {
         this(
                 false,
                 false,
@@ -64,6 +64,10 @@ public final class AutoGitCommitCommand implements AutoGitCommand<String, AutoGi
 
     @Override
     public String call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private String execute() {
         if (this.message == null || this.message.isBlank()) {
             throw new IllegalStateException("Message is required for commit command");
         }
@@ -144,7 +148,7 @@ public final class AutoGitCommitCommand implements AutoGitCommand<String, AutoGi
         private boolean amend;
         private Person author;
         private Person committer;
-        private CommitConfig.CleanupMode cleanupMode;
+        private CommitConfig.CleanupMode cleanupMode = CommitConfig.CleanupMode.DEFAULT;
         private boolean defaultClean;
         private boolean insertChangeId;
         private String message;
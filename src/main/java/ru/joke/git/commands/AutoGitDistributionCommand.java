@@ -2,102 +2,204 @@ package ru.joke.git.commands;
 
 import org.eclipse.jgit.api.CheckoutResult;
 import org.eclipse.jgit.api.CherryPickResult;
+import org.eclipse.jgit.api.MergeResult;
 import org.eclipse.jgit.api.PullResult;
+import org.eclipse.jgit.api.RebaseCommand;
+import org.eclipse.jgit.api.RebaseResult;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.BranchConfig;
+import org.eclipse.jgit.lib.Config;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import ru.joke.classpath.ClassPathIndexed;
+import ru.joke.git.shared.CommandScopeStorage;
+import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonBinding;
+import ru.joke.git.shared.ProgressMonitorStorage;
+import ru.joke.git.shared.ResultStreamWriterStorage;
+import ru.joke.git.shared.worktree.LinkedWorktreePool;
+import ru.joke.git.shared.worktree.WorktreeHeads;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @ClassPathIndexed("distribute")
 public final class AutoGitDistributionCommand implements AutoGitCommand<Map<String, AutoGitDistributionCommand.BranchPublicationResult>, AutoGitDistributionCommand, AutoGitDistributionCommand.DistributionCommandBuilder> {
 
     private static final String INITIAL_BRANCH = "$initial";
+    private static final String DEFAULT_WORKTREES_DIR = "auto-git-worktrees";
+    private static final int DEFAULT_PARALLELISM = 1;
+    private static final int DEFAULT_PATCH_ID_HISTORY_DEPTH = 1000;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long DEFAULT_RETRY_BACKOFF_MILLIS = 500;
+    private static final long DEFAULT_MAX_RETRY_BACKOFF_MILLIS = 10_000;
+    private static final int CHECKOUT_CHURN_CANDIDATES = 8;
 
     private final List<String> branches;
+    private final List<BranchSelector> branchSelectors;
     private final AutoGitCheckoutCommand checkout;
     private final AutoGitPullCommand pull;
     private final AutoGitCherryPickCommand cherryPick;
     private final AutoGitPushCommand push;
     private final AutoGitAddCommand add;
     private final AutoGitCommitCommand commit;
+    private final int parallelism;
+    private final String worktreesDir;
+    private final boolean inMemory;
+    private final boolean batchPush;
+    private final boolean fetchOnce;
+    private final boolean skipApplied;
+    private final int patchIdHistoryDepth;
+    private final boolean streamResults;
+    private final boolean predictConflicts;
+    private final boolean minimizeCheckoutChurn;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
 
-    private AutoGitDistributionCommand() {
+    AutoGitDistributionCommand() {
         final var checkoutCommand = AutoGitCheckoutCommand.builder().build();
         final var pullCommand = AutoGitPullCommand.builder().build();
         final var pushCommand = AutoGitPushCommand.builder().build();
         final var addCommand = AutoGitAddCommand.builder().build();
         this(
+                null,
                 null,
                 checkoutCommand,
                 pullCommand,
                 null,
                 pushCommand,
                 addCommand,
-                null
+                null,
+                DEFAULT_PARALLELISM,
+                null,
+                false,
+                false,
+                false,
+                false,
+                DEFAULT_PATCH_ID_HISTORY_DEPTH,
+                false,
+                false,
+                false,
+                DEFAULT_MAX_RETRIES,
+                DEFAULT_RETRY_BACKOFF_MILLIS,
+                DEFAULT_MAX_RETRY_BACKOFF_MILLIS
         );
     }
     
     private AutoGitDistributionCommand(
             final List<String> branches,
+            final List<BranchSelector> branchSelectors,
             final AutoGitCheckoutCommand checkout,
             final AutoGitPullCommand pull,
             final AutoGitCherryPickCommand cherryPick,
             final AutoGitPushCommand push,
             final AutoGitAddCommand add,
-            final AutoGitCommitCommand commit
+            final AutoGitCommitCommand commit,
+            final int parallelism,
+            final String worktreesDir,
+            final boolean inMemory,
+            final boolean batchPush,
+            final boolean fetchOnce,
+            final boolean skipApplied,
+            final int patchIdHistoryDepth,
+            final boolean streamResults,
+            final boolean predictConflicts,
+            final boolean minimizeCheckoutChurn,
+            final int maxRetries,
+            final long retryBackoffMillis,
+            final long maxRetryBackoffMillis
     ) {
         this.branches = branches;
+        this.branchSelectors = branchSelectors;
         this.checkout = checkout;
         this.pull = pull;
         this.cherryPick = cherryPick;
         this.push = push;
         this.add = add;
         this.commit = commit;
+        this.parallelism = parallelism;
+        this.worktreesDir = worktreesDir;
+        this.inMemory = inMemory;
+        this.batchPush = batchPush;
+        this.fetchOnce = fetchOnce;
+        this.skipApplied = skipApplied;
+        this.patchIdHistoryDepth = patchIdHistoryDepth;
+        this.streamResults = streamResults;
+        this.predictConflicts = predictConflicts;
+        this.minimizeCheckoutChurn = minimizeCheckoutChurn;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
     }
 
     @Override
     public Map<String, BranchPublicationResult> call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private Map<String, BranchPublicationResult> execute() {
         if ((this.cherryPick == null || this.cherryPick.getRefs().isEmpty()) && this.commit == null) {
             throw new IllegalStateException("Commit refs to distribution is required");
         }
 
-        final Map<String, BranchPublicationResult> result = new HashMap<>();
+        final Map<String, BranchPublicationResult> result = new ConcurrentHashMap<>();
 
         final var pullCommand = buildPullCommand();
         final var cherryPickCommand =
                 this.commit != null
                         ? createInitialPublication(pullCommand, result)
                         : this.cherryPick;
+        if (this.commit != null) {
+            completeBranch(INITIAL_BRANCH, result);
+        }
 
-        final var checkoutCommandBuilder = this.checkout.toBuilder();
-        for (final var branch : this.branches) {
+        final var selectedBranches = resolveBranches();
+        if (isFetchOnce()) {
+            fetchRemotes(selectedBranches, pullCommand);
+        }
 
-            final var branchPublicationResult = result.computeIfAbsent(branch, k -> new BranchPublicationResult());
-            final var checkoutCommand = buildCheckoutCommand(branch, checkoutCommandBuilder);
-            final var checkoutResult = checkoutCommand.call();
+        final var nonAppliedBranches =
+                this.skipApplied
+                        ? skipAlreadyAppliedBranches(selectedBranches, cherryPickCommand, result)
+                        : selectedBranches;
+        final var targetBranches =
+                this.predictConflicts
+                        ? skipConflictingBranches(nonAppliedBranches, cherryPickCommand, result)
+                        : nonAppliedBranches;
 
-            if (checkoutResult.getStatus() != CheckoutResult.Status.OK) {
-                branchPublicationResult.failedCheckout = checkoutResult;
-                continue;
-            }
+        if (this.parallelism > 1 && targetBranches.size() > 1) {
+            distributeInParallel(targetBranches, cherryPickCommand, pullCommand, result);
+        } else {
+            final var orderedBranches =
+                    this.minimizeCheckoutChurn && !this.inMemory
+                            ? orderByCheckoutChurn(targetBranches, result)
+                            : targetBranches;
+            orderedBranches.forEach(branch -> distribute(branch, cherryPickCommand, pullCommand, result));
+        }
 
-            try {
-                executeActionInBranch(
-                        branch,
-                        cherryPickCommand,
-                        pullCommand,
-                        branchPublicationResult
-                );
-            } catch (RuntimeException ex) {
-                executeActionInBranch(
-                        branch,
-                        cherryPickCommand,
-                        pullCommand,
-                        branchPublicationResult
-                );
-            }
+        if (this.batchPush) {
+            pushUpdatedBranches(result);
         }
 
         return result;
@@ -109,30 +211,686 @@ public final class AutoGitDistributionCommand implements AutoGitCommand<Map<Stri
                 .withAdd(this.add)
                 .withCheckout(this.checkout)
                 .withBranches(this.branches)
+                .withBranchSelectors(this.branchSelectors == null ? List.of() : this.branchSelectors)
                 .withCherryPick(this.cherryPick)
                 .withPull(this.pull)
                 .withCommit(this.commit)
-                .withPush(this.push);
+                .withPush(this.push)
+                .withParallelism(this.parallelism)
+                .withWorktreesDir(this.worktreesDir)
+                .withInMemory(this.inMemory)
+                .withBatchPush(this.batchPush)
+                .withFetchOnce(this.fetchOnce)
+                .withSkipApplied(this.skipApplied)
+                .withPatchIdHistoryDepth(this.patchIdHistoryDepth)
+                .withStreamResults(this.streamResults)
+                .withPredictConflicts(this.predictConflicts)
+                .withMinimizeCheckoutChurn(this.minimizeCheckoutChurn)
+                .withMaxRetries(this.maxRetries)
+                .withRetryBackoffMillis(this.retryBackoffMillis)
+                .withMaxRetryBackoffMillis(this.maxRetryBackoffMillis);
     }
 
     @Override
     public String toString() {
         return "distribute{"
                 + "branches=" + branches
+                + ", branchSelectors=" + branchSelectors
                 + ", checkout=" + checkout
                 + ", pull=" + pull
                 + ", cherryPick=" + cherryPick
                 + ", push=" + push
                 + ", add=" + add
                 + ", commit=" + commit
+                + ", parallelism=" + parallelism
+                + ", worktreesDir='" + worktreesDir + '\''
+                + ", inMemory=" + inMemory
+                + ", batchPush=" + batchPush
+                + ", fetchOnce=" + fetchOnce
+                + ", skipApplied=" + skipApplied
+                + ", patchIdHistoryDepth=" + patchIdHistoryDepth
+                + ", streamResults=" + streamResults
+                + ", predictConflicts=" + predictConflicts
+                + ", minimizeCheckoutChurn=" + minimizeCheckoutChurn
+                + ", maxRetries=" + maxRetries
+                + ", retryBackoffMillis=" + retryBackoffMillis
+                + ", maxRetryBackoffMillis=" + maxRetryBackoffMillis
                 + '}';
     }
 
-    private AutoGitCheckoutCommand buildCheckoutCommand(
+    private List<String> resolveBranches() {
+        if (this.branchSelectors == null || this.branchSelectors.isEmpty()) {
+            return this.branches;
+        }
+
+        final var prefixes =
+                this.branchSelectors
+                        .stream()
+                        .map(selector -> Constants.R_HEADS + selector.literalPrefix())
+                        .distinct()
+                        .toArray(String[]::new);
+        final var matchers =
+                this.branchSelectors
+                        .stream()
+                        .map(BranchSelector::toMatcher)
+                        .toList();
+
+        try {
+            final var refs = GitStorage.getGit().getRepository().getRefDatabase().getRefsByPrefix(prefixes);
+            final var selectedBranches =
+                    refs.stream()
+                            .map(ref -> ref.getName().substring(Constants.R_HEADS.length()))
+                            .filter(branch -> matchers.stream().anyMatch(matcher -> matcher.test(branch)))
+                            .distinct()
+                            .sorted(BranchSelector.VERSION_ORDER)
+                            .toList();
+
+            final Set<String> result = new LinkedHashSet<>(this.branches);
+            result.addAll(selectedBranches);
+            return new ArrayList<>(result);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<String> skipAlreadyAppliedBranches(
+            final List<String> branches,
+            final AutoGitCherryPickCommand cherryPickCommand,
+            final Map<String, BranchPublicationResult> result
+    ) {
+        final var repository = GitStorage.getGit().getRepository();
+        final List<String> targetBranches = new ArrayList<>(branches.size());
+
+        try (final var revWalk = new RevWalk(repository)) {
+            final var patchIdIndex = PatchIdIndex.load(repository);
+
+            final List<RevCommit> commits = new ArrayList<>(cherryPickCommand.getRefs().size());
+            final Set<ObjectId> patchIds = new HashSet<>();
+            for (final var ref : cherryPickCommand.getRefs()) {
+                final var commit = revWalk.parseCommit(resolveCommit(repository, ref));
+                commits.add(commit);
+                patchIds.add(patchIdIndex.patchIdOf(revWalk, commit));
+            }
+
+            for (final var branch : branches) {
+                final var targetTip = resolveBranchTip(repository, branch);
+                final var skipReason =
+                        targetTip == null
+                                ? null
+                                : findSkipReason(revWalk, patchIdIndex, revWalk.parseCommit(targetTip), commits, patchIds);
+                if (skipReason == null) {
+                    targetBranches.add(branch);
+                } else {
+                    result.computeIfAbsent(branch, k -> new BranchPublicationResult()).skipReason = skipReason;
+                    completeBranch(branch, result);
+                }
+            }
+
+            patchIdIndex.store();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return targetBranches;
+    }
+
+    private List<String> skipConflictingBranches(
+            final List<String> branches,
+            final AutoGitCherryPickCommand cherryPickCommand,
+            final Map<String, BranchPublicationResult> result
+    ) {
+        final var repository = GitStorage.getGit().getRepository();
+        final List<String> targetBranches = new ArrayList<>(branches.size());
+
+        try {
+            final var commits = resolveCommits(repository, cherryPickCommand);
+            final var cherryPicker = createCherryPicker(repository, cherryPickCommand);
+
+            for (final var branch : branches) {
+                final var targetTip = resolveBranchTip(repository, branch);
+                final var prediction = targetTip == null ? null : cherryPicker.predict(targetTip, commits);
+                if (prediction == null || !prediction.conflicting()) {
+                    targetBranches.add(branch);
+                    continue;
+                }
+
+                final var branchPublicationResult = result.computeIfAbsent(branch, k -> new BranchPublicationResult());
+                branchPublicationResult.skipReason = SkipReason.PREDICTED_CONFLICT;
+                branchPublicationResult.conflictingPaths = prediction.conflictingPaths();
+                completeBranch(branch, result);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return targetBranches;
+    }
+
+    private List<String> orderByCheckoutChurn(
+            final List<String> branches,
+            final Map<String, BranchPublicationResult> result
+    ) {
+        final var repository = GitStorage.getGit().getRepository();
+        final List<String> orderedBranches = new ArrayList<>(branches.size());
+
+        try (final var revWalk = new RevWalk(repository)) {
+            final Map<String, RevTree> branchTrees = new LinkedHashMap<>();
+            for (final var branch : branches) {
+                final var branchRef = repository.exactRef(Constants.R_HEADS + branch);
+                final var branchTip = branchRef == null ? resolveBranchTip(repository, branch) : branchRef.getObjectId();
+                if (branchTip == null) {
+                    continue;
+                }
+
+                branchTrees.put(branch, revWalk.parseCommit(branchTip).getTree());
+            }
+
+            final var headId = repository.resolve(Constants.HEAD);
+            final var headTree = headId == null ? null : revWalk.parseCommit(headId).getTree();
+
+            final Map<String, Integer> headDistances = new HashMap<>();
+            for (final var branchTree : branchTrees.entrySet()) {
+                headDistances.put(branchTree.getKey(), countChangedFiles(revWalk.getObjectReader(), headTree, branchTree.getValue()));
+            }
+
+            final List<String> remainingBranches = new ArrayList<>(branchTrees.keySet());
+            remainingBranches.sort(Comparator.comparing(headDistances::get));
+
+            RevTree currentTree = null;
+            while (!remainingBranches.isEmpty()) {
+                int nearestIndex = 0;
+                int nearestDistance = Integer.MAX_VALUE;
+                final var candidates = Math.min(CHECKOUT_CHURN_CANDIDATES, remainingBranches.size());
+                for (int i = 0; i < candidates; i++) {
+                    final var branch = remainingBranches.get(i);
+                    final var distance =
+                            currentTree == null
+                                    ? headDistances.get(branch)
+                                    : countChangedFiles(revWalk.getObjectReader(), currentTree, branchTrees.get(branch));
+                    if (distance < nearestDistance) {
+                        nearestIndex = i;
+                        nearestDistance = distance;
+                    }
+                }
+
+                final var nearestBranch = remainingBranches.remove(nearestIndex);
+                currentTree = branchTrees.get(nearestBranch);
+                orderedBranches.add(nearestBranch);
+                result.computeIfAbsent(nearestBranch, k -> new BranchPublicationResult()).estimatedFilesWritten = nearestDistance;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        branches
+                .stream()
+                .filter(branch -> !orderedBranches.contains(branch))
+                .forEach(orderedBranches::add);
+        return orderedBranches;
+    }
+
+    private static int countChangedFiles(
+            final ObjectReader reader,
+            final RevTree fromTree,
+            final RevTree toTree
+    ) throws IOException {
+        try (final var treeWalk = new TreeWalk(reader)) {
+            if (fromTree == null) {
+                treeWalk.addTree(new EmptyTreeIterator());
+            } else {
+                treeWalk.addTree(fromTree);
+            }
+            treeWalk.addTree(toTree);
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(TreeFilter.ANY_DIFF);
+
+            int changedFiles = 0;
+            while (treeWalk.next()) {
+                changedFiles++;
+            }
+
+            return changedFiles;
+        }
+    }
+
+    private List<ObjectId> resolveCommits(
+            final Repository repository,
+            final AutoGitCherryPickCommand cherryPickCommand
+    ) throws IOException {
+        final List<ObjectId> commits = new ArrayList<>(cherryPickCommand.getRefs().size());
+        for (final var ref : cherryPickCommand.getRefs()) {
+            commits.add(resolveCommit(repository, ref));
+        }
+
+        return commits;
+    }
+
+    private static ObjectId resolveCommit(
+            final Repository repository,
+            final String ref
+    ) throws IOException {
+        final var commitId = repository.resolve(ref);
+        if (commitId == null) {
+            throw new IllegalArgumentException("Unable to resolve commit ref: " + ref);
+        }
+
+        return commitId;
+    }
+
+    private InCoreCherryPicker createCherryPicker(
+            final Repository repository,
+            final AutoGitCherryPickCommand cherryPickCommand
+    ) {
+        return new InCoreCherryPicker(
+                repository,
+                cherryPickCommand.getMergeStrategy(),
+                cherryPickCommand.getContentMergeStrategy()
+        );
+    }
+
+    private ObjectId resolveBranchTip(final Repository repository, final String branch) throws IOException {
+        final var remoteTrackingBranch = new BranchConfig(repository.getConfig(), branch).getRemoteTrackingBranch();
+        final var remoteRef = remoteTrackingBranch == null ? null : repository.exactRef(remoteTrackingBranch);
+        final var branchRef = remoteRef == null ? repository.exactRef(Constants.R_HEADS + branch) : remoteRef;
+
+        return branchRef == null ? null : branchRef.getObjectId();
+    }
+
+    private SkipReason findSkipReason(
+            final RevWalk revWalk,
+            final PatchIdIndex patchIdIndex,
+            final RevCommit targetTip,
+            final List<RevCommit> commits,
+            final Set<ObjectId> patchIds
+    ) throws IOException {
+        boolean merged = true;
+        for (final var commit : commits) {
+            revWalk.reset();
+            if (!revWalk.isMergedInto(commit, targetTip)) {
+                merged = false;
+                break;
+            }
+        }
+
+        if (merged) {
+            return SkipReason.ALREADY_MERGED;
+        }
+
+        revWalk.reset();
+        if (patchIds.contains(null)) {
+            return null;
+        }
+
+        final var targetPatchIds = patchIdIndex.collectPatchIds(targetTip, this.patchIdHistoryDepth);
+        return targetPatchIds.containsAll(patchIds) ? SkipReason.EQUIVALENT_PATCH_APPLIED : null;
+    }
+
+    private void distributeInParallel(
+            final List<String> branches,
+            final AutoGitCherryPickCommand cherryPickCommand,
+            final AutoGitPullCommand pullCommand,
+            final Map<String, BranchPublicationResult> result
+    ) {
+        final var repository = GitStorage.getGit().getRepository();
+        final var worktreesRoot =
+                this.worktreesDir == null
+                        ? repository.getCommonDirectory().toPath().resolve(DEFAULT_WORKTREES_DIR)
+                        : Path.of(this.worktreesDir);
+        final var poolSize = Math.min(this.parallelism, branches.size());
+
+        final var resultStreamWriter = ResultStreamWriterStorage.findResultStreamWriter();
+        final var parentCommand = CommandScopeStorage.findCommand();
+        final List<Future<?>> tasks = new ArrayList<>(branches.size());
+        try (final var worktreePool = new LinkedWorktreePool(repository, worktreesRoot, poolSize);
+             final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            final var checkedOutBranches = WorktreeHeads.findCheckedOutBranches(repository);
+            final List<String> sequentialBranches = new ArrayList<>();
+            for (final var branch : branches) {
+                if (checkedOutBranches.contains(Constants.R_HEADS + branch)) {
+                    sequentialBranches.add(branch);
+                    continue;
+                }
+
+                final var task = executor.submit(() -> {
+                    final var worktree = worktreePool.acquire();
+                    try {
+                        CommandScopeStorage.runWith(
+                                parentCommand,
+                                () -> ResultStreamWriterStorage.runWith(
+                                        resultStreamWriter,
+                                        () -> GitStorage.runWith(
+                                                worktree,
+                                                () -> distribute(branch, cherryPickCommand, pullCommand, result)
+                                        )
+                                )
+                        );
+                    } finally {
+                        worktreePool.release(worktree);
+                    }
+
+                    return null;
+                });
+                tasks.add(task);
+            }
+
+            for (final var task : tasks) {
+                task.get();
+            }
+
+            sequentialBranches.forEach(branch -> distribute(branch, cherryPickCommand, pullCommand, result));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void distribute(
+            final String branch,
+            final AutoGitCherryPickCommand cherryPickCommand,
+            final AutoGitPullCommand pullCommand,
+            final Map<String, BranchPublicationResult> result
+    ) {
+        if (this.inMemory) {
+            distributeInMemory(branch, cherryPickCommand, pullCommand, result);
+        } else {
+            distributeToBranch(branch, cherryPickCommand, pullCommand, result);
+        }
+
+        completeBranch(branch, result);
+    }
+
+    private void completeBranch(
+            final String branch,
+            final Map<String, BranchPublicationResult> result
+    ) {
+        if (!this.streamResults) {
+            return;
+        }
+
+        final var branchPublicationResult = result.get(branch);
+        if (isDeferredToBatchPush(branch, branchPublicationResult)) {
+            return;
+        }
+
+        ResultStreamWriterStorage.getResultStreamWriter().write(new BranchPublicationEvent(branch, branchPublicationResult));
+        result.remove(branch);
+    }
+
+    private boolean isDeferredToBatchPush(
+            final String branch,
+            final BranchPublicationResult branchPublicationResult
+    ) {
+        return this.batchPush && !INITIAL_BRANCH.equals(branch) && hasPushedCommits(branchPublicationResult);
+    }
+
+    private static boolean hasPushedCommits(final BranchPublicationResult branchPublicationResult) {
+        return branchPublicationResult != null
+                && branchPublicationResult.pushedCommits != null
+                && !branchPublicationResult.pushedCommits.isEmpty();
+    }
+
+    private void distributeInMemory(
+            final String branch,
+            final AutoGitCherryPickCommand cherryPickCommand,
+            final AutoGitPullCommand pullCommand,
+            final Map<String, BranchPublicationResult> result
+    ) {
+        final var repository = GitStorage.getGit().getRepository();
+        final var branchRefName = Constants.R_HEADS + branch;
+        final var retryPolicy = retryPolicy();
+
+        try {
+            final var localRef = repository.exactRef(branchRefName);
+            var targetTip = localRef == null || WorktreeHeads.findCheckedOutBranches(repository).contains(branchRefName)
+                    ? null
+                    : resolveInMemoryTarget(repository, branch, localRef.getObjectId());
+            if (targetTip == null) {
+                distributeToBranch(branch, cherryPickCommand, pullCommand, result);
+                return;
+            }
+
+            final var branchPublicationResult = result.computeIfAbsent(branch, k -> new BranchPublicationResult());
+            final var commits = resolveCommits(repository, cherryPickCommand);
+            final var cherryPicker = createCherryPicker(repository, cherryPickCommand);
+            final var pushCommand =
+                    this.push.toBuilder()
+                                .withRefSpec(branchRefName + ":" + branchRefName)
+                            .build();
+
+            var localTip = localRef.getObjectId();
+            for (int attempt = 0; ; attempt++) {
+                final var cherryPickResult = cherryPicker.cherryPick(targetTip, commits);
+                if (cherryPickResult.conflicting()) {
+                    distributeToBranch(branch, cherryPickCommand, pullCommand, result);
+                    return;
+                }
+
+                branchPublicationResult.pushedCommits =
+                        cherryPickResult.createdCommits()
+                                .stream()
+                                .map(AnyObjectId::getName)
+                                .collect(Collectors.toSet());
+                if (cherryPickResult.newTip().equals(localTip)) {
+                    return;
+                }
+
+                updateBranchRef(repository, branchRefName, localTip, cherryPickResult.newTip(), attempt > 0);
+                localTip = cherryPickResult.newTip();
+                if (this.batchPush) {
+                    return;
+                }
+
+                final var pushStatus =
+                        retryPolicy.callOnTransportFailure(
+                                () -> findPushStatus(pushCommand.call(), branchRefName),
+                                () -> branchPublicationResult.retries++
+                        );
+                branchPublicationResult.pushStatus = pushStatus;
+                if (!isRejectedAsNonFastForward(pushStatus)) {
+                    branchPublicationResult.failure = findPushFailure(pushStatus);
+                    return;
+                }
+
+                targetTip = fetchRemoteTip(repository, branch, attempt, branchPublicationResult);
+                if (targetTip == null) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private ObjectId fetchRemoteTip(
+            final Repository repository,
+            final String branch,
+            final int attempt,
+            final BranchPublicationResult branchPublicationResult
+    ) throws IOException {
+        final var retryPolicy = retryPolicy();
+        final var branchConfig = new BranchConfig(repository.getConfig(), branch);
+        final var remoteTrackingBranch = branchConfig.getRemoteTrackingBranch();
+        if (!retryPolicy.canRetry(attempt) || remoteTrackingBranch == null) {
+            branchPublicationResult.failure = FailureType.NON_FAST_FORWARD;
+            return null;
+        }
+
+        retryPolicy.backoff(attempt);
+        branchPublicationResult.retries++;
+        retryPolicy.callOnTransportFailure(
+                buildBranchFetchCommand(branchConfig, remoteTrackingBranch)::call,
+                () -> branchPublicationResult.retries++
+        );
+
+        final var remoteRef = repository.exactRef(remoteTrackingBranch);
+        if (remoteRef == null) {
+            branchPublicationResult.failure = FailureType.NON_FAST_FORWARD;
+            return null;
+        }
+
+        return remoteRef.getObjectId();
+    }
+
+    private static RemoteRefUpdate.Status findPushStatus(
+            final Iterable<PushResult> pushResults,
+            final String branchRefName
+    ) {
+        for (final var pushResult : pushResults) {
+            final var refUpdate = pushResult.getRemoteUpdate(branchRefName);
+            if (refUpdate != null) {
+                return refUpdate.getStatus();
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isRejectedAsNonFastForward(final RemoteRefUpdate.Status pushStatus) {
+        return pushStatus == RemoteRefUpdate.Status.REJECTED_NONFASTFORWARD
+                || pushStatus == RemoteRefUpdate.Status.REJECTED_REMOTE_CHANGED;
+    }
+
+    private static FailureType findPushFailure(final RemoteRefUpdate.Status pushStatus) {
+        if (pushStatus == null) {
+            return FailureType.PUSH;
+        }
+
+        return switch (pushStatus) {
+            case OK, UP_TO_DATE -> null;
+            case REJECTED_NONFASTFORWARD, REJECTED_REMOTE_CHANGED -> FailureType.NON_FAST_FORWARD;
+            case REJECTED_NODELETE, REJECTED_OTHER_REASON -> FailureType.REJECTED;
+            case AWAITING_REPORT -> FailureType.TRANSPORT;
+            case NOT_ATTEMPTED, NON_EXISTING -> FailureType.OTHER;
+        };
+    }
+
+    private RetryPolicy retryPolicy() {
+        return new RetryPolicy(this.maxRetries, this.retryBackoffMillis, this.maxRetryBackoffMillis);
+    }
+
+    private void fetchRemotes(
+            final List<String> branches,
+            final AutoGitPullCommand pullCommand
+    ) {
+        final var config = GitStorage.getGit().getRepository().getConfig();
+        branches.stream()
+                .map(branch -> resolveRemote(config, branch, pullCommand))
+                .distinct()
+                .forEach(remote -> retryPolicy().callOnTransportFailure(buildFetchCommand(remote)::call, () -> {}));
+    }
+
+    private static String resolveRemote(
+            final Config config,
+            final String branch,
+            final AutoGitPullCommand pullCommand
+    ) {
+        if (pullCommand.getRemote() != null) {
+            return pullCommand.getRemote();
+        }
+
+        final var remote = new BranchConfig(config, branch).getRemote();
+        return remote == null ? Constants.DEFAULT_REMOTE_NAME : remote;
+    }
+
+    private AutoGitFetchCommand buildFetchCommand(final String remote) {
+        return AutoGitFetchCommand.builder()
+                    .withRemote(remote)
+                .build();
+    }
+
+    private AutoGitFetchCommand buildBranchFetchCommand(
+            final BranchConfig branchConfig,
+            final String remoteTrackingBranch
+    ) {
+        return AutoGitFetchCommand.builder()
+                    .withRemote(branchConfig.getRemote())
+                    .withRefSpecs(List.of("+" + branchConfig.getMerge() + ":" + remoteTrackingBranch))
+                .build();
+    }
+
+    private ObjectId resolveInMemoryTarget(
+            final Repository repository,
+            final String branch,
+            final ObjectId localTip
+    ) throws IOException {
+        final var remoteTrackingBranch = new BranchConfig(repository.getConfig(), branch).getRemoteTrackingBranch();
+        final var remoteRef = remoteTrackingBranch == null ? null : repository.exactRef(remoteTrackingBranch);
+        if (remoteRef == null || remoteRef.getObjectId().equals(localTip)) {
+            return localTip;
+        }
+
+        try (final var revWalk = new RevWalk(repository)) {
+            final var localCommit = revWalk.parseCommit(localTip);
+            final var remoteCommit = revWalk.parseCommit(remoteRef.getObjectId());
+            if (revWalk.isMergedInto(localCommit, remoteCommit)) {
+                return remoteCommit;
+            }
+
+            return revWalk.isMergedInto(remoteCommit, localCommit) ? localCommit : null;
+        }
+    }
+
+    private void updateBranchRef(
+            final Repository repository,
+            final String branchRefName,
+            final ObjectId expectedOldId,
+            final ObjectId newId,
+            final boolean force
+    ) throws IOException {
+        final var refUpdate = repository.updateRef(branchRefName);
+        refUpdate.setExpectedOldObjectId(expectedOldId);
+        refUpdate.setNewObjectId(newId);
+        refUpdate.setForceUpdate(force);
+        refUpdate.setRefLogMessage("cherry-pick: distribution", false);
+
+        final var updateResult = refUpdate.update();
+        if (updateResult != RefUpdate.Result.FAST_FORWARD
+                && updateResult != RefUpdate.Result.NEW
+                && updateResult != RefUpdate.Result.FORCED) {
+            throw new RuntimeException("Unable to update ref %s: %s".formatted(branchRefName, updateResult));
+        }
+    }
+
+    private void distributeToBranch(
             final String branch,
-            final AutoGitCheckoutCommand.CheckoutCommandBuilder builder
+            final AutoGitCherryPickCommand cherryPickCommand,
+            final AutoGitPullCommand pullCommand,
+            final Map<String, BranchPublicationResult> result
     ) {
-        return builder
+        final var branchPublicationResult = result.computeIfAbsent(branch, k -> new BranchPublicationResult());
+        final var checkoutCommand = buildCheckoutCommand(branch);
+        final var checkoutResult = checkoutCommand.call();
+
+        if (checkoutResult.getStatus() != CheckoutResult.Status.OK) {
+            branchPublicationResult.failedCheckout = checkoutResult;
+            return;
+        }
+
+        if (this.minimizeCheckoutChurn) {
+            branchPublicationResult.actualFilesWritten =
+                    checkoutResult.getModifiedList().size() + checkoutResult.getRemovedList().size();
+        }
+
+        try {
+            executeActionInBranch(
+                    branch,
+                    cherryPickCommand,
+                    pullCommand,
+                    branchPublicationResult
+            );
+        } catch (RuntimeException ex) {
+            branchPublicationResult.failure = RetryPolicy.isTransportFailure(ex) ? FailureType.TRANSPORT : FailureType.OTHER;
+            branchPublicationResult.error = String.valueOf(ex.getCause() == null ? ex.getMessage() : ex.getCause().getMessage());
+        }
+    }
+
+    private AutoGitCheckoutCommand buildCheckoutCommand(final String branch) {
+        return this.checkout.toBuilder()
                     .withRef(branch)
                     .withForceRefUpdate(true)
                 .build();
@@ -179,48 +937,263 @@ public final class AutoGitDistributionCommand implements AutoGitCommand<Map<Stri
             final BranchPublicationResult branchPublicationResult
     ) {
 
-        final var pullResult = pullCommand.call();
-        if (!pullResult.isSuccessful()) {
-            branchPublicationResult.failedPull = pullResult;
-            return;
+        final var retryPolicy = retryPolicy();
+        if (isFetchOnce()) {
+            if (!updateFromRemoteTrackingBranch(branch, pullCommand.isRebase(), pullCommand, branchPublicationResult)) {
+                branchPublicationResult.failure = FailureType.CONFLICT;
+                return;
+            }
+        } else {
+            final var pullResult = retryPolicy.callOnTransportFailure(pullCommand::call, () -> branchPublicationResult.retries++);
+            if (!pullResult.isSuccessful()) {
+                branchPublicationResult.failedPull = pullResult;
+                return;
+            }
         }
 
         final var cherryPickResult = cherryPickCommand.call();
         if (cherryPickResult.getStatus() != CherryPickResult.CherryPickStatus.OK) {
             branchPublicationResult.failedCherryPick = cherryPickResult;
+            branchPublicationResult.failure = FailureType.CONFLICT;
             return;
         }
 
-        this.push.call();
-
         branchPublicationResult.pushedCommits =
                 cherryPickResult.getCherryPickedRefs()
                         .stream()
                         .map(Ref::getObjectId)
                         .map(AnyObjectId::getName)
                         .collect(Collectors.toSet());
+        if (this.batchPush) {
+            return;
+        }
+
+        final var branchRefName = Constants.R_HEADS + branch;
+        for (int attempt = 0; ; attempt++) {
+            final var pushStatus =
+                    retryPolicy.callOnTransportFailure(
+                            () -> findPushStatus(this.push.call(), branchRefName),
+                            () -> branchPublicationResult.retries++
+                    );
+            branchPublicationResult.pushStatus = pushStatus;
+            if (!isRejectedAsNonFastForward(pushStatus)) {
+                branchPublicationResult.failure = findPushFailure(pushStatus);
+                return;
+            }
+
+            try {
+                if (fetchRemoteTip(GitStorage.getGit().getRepository(), branch, attempt, branchPublicationResult) == null) {
+                    return;
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            if (!updateFromRemoteTrackingBranch(branch, true, pullCommand, branchPublicationResult)) {
+                branchPublicationResult.failure = FailureType.CONFLICT;
+                return;
+            }
+
+            branchPublicationResult.pushedCommits = findHeadCommits(cherryPickResult.getCherryPickedRefs().size());
+        }
+    }
+
+    private Set<String> findHeadCommits(final int count) {
+        final var repository = GitStorage.getGit().getRepository();
+        try (final var revWalk = new RevWalk(repository)) {
+            revWalk.markStart(revWalk.parseCommit(repository.resolve(Constants.HEAD)));
+
+            final Set<String> result = new HashSet<>();
+            for (final var commit : revWalk) {
+                if (result.size() == count) {
+                    break;
+                }
+
+                result.add(commit.name());
+            }
+
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private boolean isFetchOnce() {
+        return this.fetchOnce || this.inMemory;
+    }
+
+    private boolean updateFromRemoteTrackingBranch(
+            final String branch,
+            final boolean rebase,
+            final AutoGitPullCommand pullCommand,
+            final BranchPublicationResult branchPublicationResult
+    ) {
+        final var git = GitStorage.getGit();
+        final var repository = git.getRepository();
+
+        try {
+            final var remoteTrackingBranch = new BranchConfig(repository.getConfig(), branch).getRemoteTrackingBranch();
+            final var upstreamRef = remoteTrackingBranch == null ? null : repository.exactRef(remoteTrackingBranch);
+            if (upstreamRef == null) {
+                return true;
+            }
+
+            if (rebase) {
+                final var rebaseResult =
+                        git.rebase()
+                                .setUpstream(upstreamRef.getObjectId())
+                                .setUpstreamName(remoteTrackingBranch)
+                                .setContentMergeStrategy(pullCommand.getContentMergeStrategy())
+                                .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("distribute"))
+                                .call();
+                if (!rebaseResult.getStatus().isSuccessful()) {
+                    branchPublicationResult.failedRebase = rebaseResult;
+                    if (repository.getRepositoryState().isRebasing()) {
+                        git.rebase().setOperation(RebaseCommand.Operation.ABORT).call();
+                    }
+
+                    return false;
+                }
+            } else {
+                final var preMergeHead = repository.resolve(Constants.HEAD);
+                final var mergeResult =
+                        git.merge()
+                                .include(upstreamRef)
+                                .setFastForward(pullCommand.getFastForwardMode())
+                                .setContentMergeStrategy(pullCommand.getContentMergeStrategy())
+                                .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("distribute"))
+                                .call();
+                if (!mergeResult.getMergeStatus().isSuccessful()) {
+                    branchPublicationResult.failedMerge = mergeResult;
+                    if (preMergeHead != null) {
+                        git.reset()
+                                .setMode(ResetCommand.ResetType.HARD)
+                                .setRef(preMergeHead.name())
+                                .call();
+                    }
+
+                    return false;
+                }
+            }
+
+            return true;
+        } catch (GitAPIException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void pushUpdatedBranches(final Map<String, BranchPublicationResult> result) {
+        final var pushCommandBuilder = this.push.toBuilder().withThin(true);
+        final List<String> deferredBranches = new ArrayList<>();
+        result.forEach((branch, branchResult) -> {
+            if (isDeferredToBatchPush(branch, branchResult)) {
+                final var branchRefName = Constants.R_HEADS + branch;
+                pushCommandBuilder.withRefSpec(branchRefName + ":" + branchRefName);
+                deferredBranches.add(branch);
+            }
+        });
+
+        final var pushCommand = pushCommandBuilder.build();
+        if (pushCommand.getRefSpecs().isEmpty()) {
+            return;
+        }
+
+        final var pushResults =
+                retryPolicy().callOnTransportFailure(
+                        pushCommand::call,
+                        () -> deferredBranches.forEach(branch -> result.get(branch).retries++)
+                );
+        for (final var pushResult : pushResults) {
+            for (final var refUpdate : pushResult.getRemoteUpdates()) {
+                final var branch = Repository.shortenRefName(refUpdate.getRemoteName());
+                final var branchResult = result.get(branch);
+                if (branchResult != null) {
+                    branchResult.pushStatus = refUpdate.getStatus();
+                    branchResult.failure = findPushFailure(refUpdate.getStatus());
+                }
+            }
+        }
+
+        for (final var branch : deferredBranches) {
+            final var branchResult = result.get(branch);
+            if (branchResult.pushStatus == null) {
+                branchResult.failure = findPushFailure(null);
+            }
+        }
+
+        if (this.streamResults) {
+            for (final var branch : deferredBranches) {
+                ResultStreamWriterStorage.getResultStreamWriter().write(new BranchPublicationEvent(branch, result.remove(branch)));
+            }
+        }
     }
 
     public static AutoGitDistributionCommand.DistributionCommandBuilder builder() {
         return new DistributionCommandBuilder();
     }
 
+    @JsonBinding
     public static class BranchPublicationResult {
-        private CheckoutResult failedCheckout;
-        private CherryPickResult failedCherryPick;
-        private PullResult failedPull;
-        private Set<String> pushedCommits;
+        CheckoutResult failedCheckout;
+        CherryPickResult failedCherryPick;
+        PullResult failedPull;
+        RebaseResult failedRebase;
+        MergeResult failedMerge;
+        Set<String> pushedCommits;
+        RemoteRefUpdate.Status pushStatus;
+        SkipReason skipReason;
+        List<String> conflictingPaths;
+        Integer estimatedFilesWritten;
+        Integer actualFilesWritten;
+        int retries;
+        FailureType failure;
+        String error;
+    }
+
+    @JsonBinding
+    public record BranchPublicationEvent(
+            String branch,
+            BranchPublicationResult result
+    ) {}
+
+    public enum FailureType {
+        NON_FAST_FORWARD,
+        REJECTED,
+        PUSH,
+        TRANSPORT,
+        CONFLICT,
+        OTHER
+    }
+
+    public enum SkipReason {
+        ALREADY_MERGED,
+        EQUIVALENT_PATCH_APPLIED,
+        PREDICTED_CONFLICT
     }
 
     public static final class DistributionCommandBuilder implements Builder<AutoGitDistributionCommand.DistributionCommandBuilder, Map<String, BranchPublicationResult>, AutoGitDistributionCommand> {
 
         private final List<String> branches = new ArrayList<>();
+        private final List<BranchSelector> branchSelectors = new ArrayList<>();
         private AutoGitCheckoutCommand checkout = AutoGitCheckoutCommand.builder().build();
         private AutoGitPullCommand pull = AutoGitPullCommand.builder().build();
         private AutoGitCherryPickCommand cherryPick;
         private AutoGitPushCommand push = AutoGitPushCommand.builder().build();
         private AutoGitAddCommand add = AutoGitAddCommand.builder().build();
         private AutoGitCommitCommand commit;
+        private int parallelism = DEFAULT_PARALLELISM;
+        private String worktreesDir;
+        private boolean inMemory;
+        private boolean batchPush;
+        private boolean fetchOnce;
+        private boolean skipApplied;
+        private int patchIdHistoryDepth = DEFAULT_PATCH_ID_HISTORY_DEPTH;
+        private boolean streamResults;
+        private boolean predictConflicts;
+        private boolean minimizeCheckoutChurn;
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+        private long retryBackoffMillis = DEFAULT_RETRY_BACKOFF_MILLIS;
+        private long maxRetryBackoffMillis = DEFAULT_MAX_RETRY_BACKOFF_MILLIS;
 
         public DistributionCommandBuilder withCheckout(final AutoGitCheckoutCommand checkout) {
             this.checkout = checkout;
@@ -262,16 +1235,105 @@ public final class AutoGitDistributionCommand implements AutoGitCommand<Map<Stri
             return this;
         }
 
+        public DistributionCommandBuilder withBranchSelector(final BranchSelector branchSelector) {
+            this.branchSelectors.add(branchSelector);
+            return this;
+        }
+
+        public DistributionCommandBuilder withBranchSelectors(final List<BranchSelector> branchSelectors) {
+            this.branchSelectors.addAll(branchSelectors);
+            return this;
+        }
+
+        public DistributionCommandBuilder withParallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public DistributionCommandBuilder withWorktreesDir(final String worktreesDir) {
+            this.worktreesDir = worktreesDir;
+            return this;
+        }
+
+        public DistributionCommandBuilder withInMemory(final boolean inMemory) {
+            this.inMemory = inMemory;
+            return this;
+        }
+
+        public DistributionCommandBuilder withBatchPush(final boolean batchPush) {
+            this.batchPush = batchPush;
+            return this;
+        }
+
+        public DistributionCommandBuilder withFetchOnce(final boolean fetchOnce) {
+            this.fetchOnce = fetchOnce;
+            return this;
+        }
+
+        public DistributionCommandBuilder withSkipApplied(final boolean skipApplied) {
+            this.skipApplied = skipApplied;
+            return this;
+        }
+
+        public DistributionCommandBuilder withPatchIdHistoryDepth(final int patchIdHistoryDepth) {
+            this.patchIdHistoryDepth = patchIdHistoryDepth;
+            return this;
+        }
+
+        public DistributionCommandBuilder withStreamResults(final boolean streamResults) {
+            this.streamResults = streamResults;
+            return this;
+        }
+
+        public DistributionCommandBuilder withPredictConflicts(final boolean predictConflicts) {
+            this.predictConflicts = predictConflicts;
+            return this;
+        }
+
+        public DistributionCommandBuilder withMinimizeCheckoutChurn(final boolean minimizeCheckoutChurn) {
+            this.minimizeCheckoutChurn = minimizeCheckoutChurn;
+            return this;
+        }
+
+        public DistributionCommandBuilder withMaxRetries(final int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public DistributionCommandBuilder withRetryBackoffMillis(final long retryBackoffMillis) {
+            this.retryBackoffMillis = retryBackoffMillis;
+            return this;
+        }
+
+        public DistributionCommandBuilder withMaxRetryBackoffMillis(final long maxRetryBackoffMillis) {
+            this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+            return this;
+        }
+
         @Override
         public AutoGitDistributionCommand build() {
             return new AutoGitDistributionCommand(
                     this.branches,
+                    this.branchSelectors,
                     this.checkout,
                     this.pull,
                     this.cherryPick,
                     this.push,
                     this.add,
-                    this.commit
+                    this.commit,
+                    this.parallelism,
+                    this.worktreesDir,
+                    this.inMemory,
+                    this.batchPush,
+                    this.fetchOnce,
+                    this.skipApplied,
+                    this.patchIdHistoryDepth,
+                    this.streamResults,
+                    this.predictConflicts,
+                    this.minimizeCheckoutChurn,
+                    this.maxRetries,
+                    this.retryBackoffMillis,
+                    this.maxRetryBackoffMillis
             );
         }
     }
@@ -9,6 +9,7 @@ import ru.joke.git.shared.GitStorage;
 import ru.joke.git.shared.ProgressMonitorStorage;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @ClassPathIndexed("fetch")
@@ -27,7 +28,7 @@ public final class AutoGitFetchCommand implements AutoGitCommand<FetchResult, Au
     private final boolean checkFetchedObjects;
     private final TagOpt tagOpt;
     
-    private AutoGitFetchCommand() {
+    AutoGitFetchCommand() {
         this(
                 false,
                 false,
@@ -68,6 +69,10 @@ public final class AutoGitFetchCommand implements AutoGitCommand<FetchResult, Au
 
     @Override
     public FetchResult call() {
+        return AutoGitCommandTracer.trace(this, this.branch, this.remote, this::execute);
+    }
+
+    private FetchResult execute() {
         try {
             final var fetchCommand = GitStorage.getGit().fetch();
             if (this.tagOpt != null) {
@@ -83,7 +88,7 @@ public final class AutoGitFetchCommand implements AutoGitCommand<FetchResult, Au
             }
             
             return fetchCommand
-                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("fetch"))
                     .setRemote(this.remote)
                     .setInitialBranch(this.branch)
                     .setRecurseSubmodules(this.recurseSubmodulesMode)
@@ -108,7 +113,8 @@ public final class AutoGitFetchCommand implements AutoGitCommand<FetchResult, Au
                 .withCheckFetchedObjects(this.checkFetchedObjects)
                 .withRecurseSubmodulesMode(this.recurseSubmodulesMode)
                 .withRemote(this.remote)
-                .withTagOpt(this.tagOpt);
+                .withTagOpt(this.tagOpt)
+                .withRefSpecs(this.refSpecs == null ? Collections.emptyList() : this.refSpecs);
     }
 
     @Override
@@ -189,6 +195,11 @@ public final class AutoGitFetchCommand implements AutoGitCommand<FetchResult, Au
             return this;
         }
 
+        public FetchCommandBuilder withRefSpecs(final List<String> refSpecs) {
+            this.refSpecs.addAll(refSpecs);
+            return this;
+        }
+
         @Override
         public AutoGitFetchCommand build() {
             return new AutoGitFetchCommand(
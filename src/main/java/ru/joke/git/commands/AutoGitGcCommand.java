@@ -24,7 +24,7 @@ public final class AutoGitGcCommand implements AutoGitCommand<Properties, AutoGi
     private final boolean preserveOldPacks;
     private final Long expireAfter;
 
-    private AutoGitGcCommand() {
+    AutoGitGcCommand() {
         this(
                 DEFAULT_AGGRESSIVE,
                 DEFAULT_PRUNE_PRESERVED,
@@ -50,6 +50,10 @@ public final class AutoGitGcCommand implements AutoGitCommand<Properties, AutoGi
 
     @Override
     public Properties call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private Properties execute() {
 
         try {
             final var git = GitStorage.getGit();
@@ -64,7 +68,7 @@ public final class AutoGitGcCommand implements AutoGitCommand<Properties, AutoGi
                     .setPrunePreserved(this.prunePreserved)
                     .setPackKeptObjects(this.packKeptObjects)
                     .setPreserveOldPacks(this.preserveOldPacks)
-                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("gc"))
                     .call();
         } catch (GitAPIException e) {
             throw new RuntimeException(e);
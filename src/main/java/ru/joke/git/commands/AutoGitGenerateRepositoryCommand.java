@@ -0,0 +1,107 @@
+package ru.joke.git.commands;
+
+import ru.joke.classpath.ClassPathIndexed;
+import ru.joke.git.generator.GenerationResult;
+import ru.joke.git.generator.RepositoryShape;
+import ru.joke.git.generator.SyntheticRepositoryGenerator;
+import ru.joke.git.shared.ProgressMonitorStorage;
+
+import java.nio.file.Path;
+
+@ClassPathIndexed("generate-repo")
+public final class AutoGitGenerateRepositoryCommand implements AutoGitCommand<GenerationResult, AutoGitGenerateRepositoryCommand, AutoGitGenerateRepositoryCommand.GenerateRepositoryCommandBuilder> {
+
+    private static final boolean DEFAULT_BARE = false;
+
+    private final String path;
+    private final boolean bare;
+    private final RepositoryShape shape;
+
+    AutoGitGenerateRepositoryCommand() {
+        this(
+                null,
+                DEFAULT_BARE,
+                RepositoryShape.builder().build()
+        );
+    }
+
+    private AutoGitGenerateRepositoryCommand(
+            final String path,
+            final boolean bare,
+            final RepositoryShape shape
+    ) {
+        this.path = path;
+        this.bare = bare;
+        this.shape = shape;
+    }
+
+    @Override
+    public GenerationResult call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private GenerationResult execute() {
+        if (this.path == null || this.path.isBlank()) {
+            throw new IllegalStateException("Path is required for generate-repo command");
+        }
+
+        final var generator = new SyntheticRepositoryGenerator(this.shape == null ? RepositoryShape.builder().build() : this.shape);
+        return generator.generate(
+                Path.of(this.path),
+                this.bare,
+                ProgressMonitorStorage.getProgressMonitor("generate-repo")
+        );
+    }
+
+    @Override
+    public GenerateRepositoryCommandBuilder toBuilder() {
+        return builder()
+                .withPath(this.path)
+                .withBare(this.bare)
+                .withShape(this.shape);
+    }
+
+    @Override
+    public String toString() {
+        return "generate-repo{"
+                + "path='" + path + '\''
+                + ", bare=" + bare
+                + ", shape=" + shape
+                + '}';
+    }
+
+    public static GenerateRepositoryCommandBuilder builder() {
+        return new GenerateRepositoryCommandBuilder();
+    }
+
+    public static final class GenerateRepositoryCommandBuilder implements Builder<GenerateRepositoryCommandBuilder, GenerationResult, AutoGitGenerateRepositoryCommand> {
+
+        private String path;
+        private boolean bare = DEFAULT_BARE;
+        private RepositoryShape shape = RepositoryShape.builder().build();
+
+        public GenerateRepositoryCommandBuilder withPath(final String path) {
+            this.path = path;
+            return this;
+        }
+
+        public GenerateRepositoryCommandBuilder withBare(final boolean bare) {
+            this.bare = bare;
+            return this;
+        }
+
+        public GenerateRepositoryCommandBuilder withShape(final RepositoryShape shape) {
+            this.shape = shape;
+            return this;
+        }
+
+        @Override
+        public AutoGitGenerateRepositoryCommand build() {
+            return new AutoGitGenerateRepositoryCommand(
+                    this.path,
+                    this.bare,
+                    this.shape
+            );
+        }
+    }
+}
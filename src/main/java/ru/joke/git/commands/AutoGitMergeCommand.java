@@ -6,6 +6,7 @@ import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.merge.ContentMergeStrategy;
 import ru.joke.classpath.ClassPathIndexed;
 import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonBinding;
 import ru.joke.git.shared.ProgressMonitorStorage;
 
 import java.io.IOException;
@@ -29,7 +30,7 @@ public final class AutoGitMergeCommand implements AutoGitCommand<MergeResult, Au
     private final MergeCommand.FastForwardMode fastForwardMode;
     private final boolean squash;
 
-    private AutoGitMergeCommand() {
+    AutoGitMergeCommand() {
         this(
                 null,
                 DEFAULT_COMMIT,
@@ -64,6 +65,10 @@ public final class AutoGitMergeCommand implements AutoGitCommand<MergeResult, Au
 
     @Override
     public MergeResult call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private MergeResult execute() {
 
         if (this.message == null || this.message.isBlank()) {
             throw new IllegalStateException("Message is required for merge command");
@@ -85,7 +90,7 @@ public final class AutoGitMergeCommand implements AutoGitCommand<MergeResult, Au
             return mergeCommand
                     .setCommit(this.commit)
                     .setStrategy(this.mergeStrategy.getStrategy())
-                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("merge"))
                     .setContentMergeStrategy(this.contentMergeStrategy)
                     .setFastForward(this.fastForwardMode)
                     .setMessage(this.message)
@@ -139,6 +144,7 @@ public final class AutoGitMergeCommand implements AutoGitCommand<MergeResult, Au
         private MergeCommand.FastForwardMode fastForwardMode = MergeCommand.FastForwardMode.FF;
         private boolean squash;
 
+        @JsonBinding.Field("include")
         public MergeCommandBuilder include(final List<String> include) {
             this.include.addAll(include);
             return this;
@@ -2,6 +2,7 @@ package ru.joke.git.commands;
 
 import ru.joke.classpath.ClassPathIndexed;
 import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonBinding;
 
 import java.util.Properties;
 
@@ -11,7 +12,7 @@ public final class AutoGitOptimizeCommand implements AutoGitCommand<AutoGitOptim
     private final AutoGitPackRefsCommand packRefs;
     private final AutoGitGcCommand gc;
 
-    private AutoGitOptimizeCommand() {
+    AutoGitOptimizeCommand() {
         final var packRefs = AutoGitPackRefsCommand.builder().build();
         final var gc = AutoGitGcCommand.builder().build();
         this(gc, packRefs);
@@ -27,6 +28,10 @@ public final class AutoGitOptimizeCommand implements AutoGitCommand<AutoGitOptim
 
     @Override
     public OptimizationResult call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private OptimizationResult execute() {
         final var git = GitStorage.getGit();
 
         Properties gcResult = null;
@@ -61,6 +66,7 @@ public final class AutoGitOptimizeCommand implements AutoGitCommand<AutoGitOptim
         return new OptimizeCommandBuilder();
     }
 
+    @JsonBinding
     public record OptimizationResult(
             String packRefsResult,
             Properties gcResult
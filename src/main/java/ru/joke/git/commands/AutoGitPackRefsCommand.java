@@ -12,7 +12,7 @@ public final class AutoGitPackRefsCommand implements AutoGitCommand<String, Auto
 
     private final boolean all;
 
-    private AutoGitPackRefsCommand() {
+    AutoGitPackRefsCommand() {
         this(DEFAULT_ALL);
     }
 
@@ -22,13 +22,17 @@ public final class AutoGitPackRefsCommand implements AutoGitCommand<String, Auto
 
     @Override
     public String call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private String execute() {
         try {
             final var git = GitStorage.getGit();
             final var PackRefsCommandBuilder = git.packRefs();
 
             return PackRefsCommandBuilder
                     .setAll(this.all)
-                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("pack-refs"))
                     .call();
         } catch (GitAPIException e) {
             throw new RuntimeException(e);
@@ -5,6 +5,7 @@ import org.eclipse.jgit.api.CherryPickResult;
 import org.eclipse.jgit.api.ResetCommand;
 import ru.joke.classpath.ClassPathIndexed;
 import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonBinding;
 
 @ClassPathIndexed("patch")
 public final class AutoGitPatchCommand implements AutoGitCommand<AutoGitPatchCommand.PatchResult, AutoGitPatchCommand, AutoGitPatchCommand.PatchCommandBuilder> {
@@ -13,7 +14,7 @@ public final class AutoGitPatchCommand implements AutoGitCommand<AutoGitPatchCom
     private final AutoGitCheckoutCommand checkout;
     private final AutoGitCherryPickCommand cherryPick;
 
-    private AutoGitPatchCommand() {
+    AutoGitPatchCommand() {
         final var resetCommand =
                 AutoGitResetCommand.builder()
                             .withResetMode(ResetCommand.ResetType.HARD)
@@ -33,6 +34,10 @@ public final class AutoGitPatchCommand implements AutoGitCommand<AutoGitPatchCom
 
     @Override
     public PatchResult call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private PatchResult execute() {
         if (this.checkout == null) {
             throw new IllegalStateException("Checkout is required for patch command");
         }
@@ -76,6 +81,7 @@ public final class AutoGitPatchCommand implements AutoGitCommand<AutoGitPatchCom
         return new PatchCommandBuilder();
     }
 
+    @JsonBinding
     public record PatchResult(
             CheckoutResult checkoutResult,
             CherryPickResult cherryPickResult
@@ -10,7 +10,7 @@ public final class AutoGitPublishCommand implements AutoGitCommand<String, AutoG
     private final AutoGitCommitCommand commit;
     private final AutoGitPushCommand push;
 
-    private AutoGitPublishCommand() {
+    AutoGitPublishCommand() {
         final var pullCommand = AutoGitPullCommand.builder().build();
         final var addCommand = AutoGitAddCommand.builder().build();
         final var pushCommand = AutoGitPushCommand.builder().build();
@@ -36,6 +36,10 @@ public final class AutoGitPublishCommand implements AutoGitCommand<String, AutoG
 
     @Override
     public String call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private String execute() {
 
         if (this.commit == null) {
             throw new IllegalStateException("Commit config is required for publish command");
@@ -27,7 +27,7 @@ public final class AutoGitPullCommand implements AutoGitCommand<PullResult, Auto
     private final ContentMergeStrategy contentMergeStrategy;
     private final TagOpt tagOpt;
 
-    private AutoGitPullCommand() {
+    AutoGitPullCommand() {
         this(
                 DEFAULT_REBASE,
                 DEFAULT_FAST_FORWARD_MODE,
@@ -60,8 +60,28 @@ public final class AutoGitPullCommand implements AutoGitCommand<PullResult, Auto
         this.tagOpt = tagOpt;
     }
 
+    public String getRemote() {
+        return this.remote;
+    }
+
+    public boolean isRebase() {
+        return this.rebaseMode == null ? this.rebase : this.rebaseMode != BranchConfig.BranchRebaseMode.NONE;
+    }
+
+    public MergeCommand.FastForwardMode getFastForwardMode() {
+        return this.fastForwardMode;
+    }
+
+    public ContentMergeStrategy getContentMergeStrategy() {
+        return this.contentMergeStrategy;
+    }
+
     @Override
     public PullResult call() {
+        return AutoGitCommandTracer.trace(this, this.branch, this.remote, this::execute);
+    }
+
+    private PullResult execute() {
         try {
             final var pullCommand = GitStorage.getGit().pull();
             if (this.tagOpt != null) {
@@ -71,7 +91,7 @@ public final class AutoGitPullCommand implements AutoGitCommand<PullResult, Auto
             return pullCommand
                     .setRebase(this.rebase)
                     .setFastForward(this.fastForwardMode)
-                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("pull"))
                     .setRebase(this.rebaseMode)
                     .setRemote(this.remote)
                     .setRemoteBranchName(this.branch)
@@ -2,23 +2,32 @@ package ru.joke.git.commands;
 
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RefSpec;
 import ru.joke.classpath.ClassPathIndexed;
 import ru.joke.git.shared.GitStorage;
 import ru.joke.git.shared.ProgressMonitorStorage;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 @ClassPathIndexed("push")
 public final class AutoGitPushCommand implements AutoGitCommand<Iterable<PushResult>, AutoGitPushCommand, AutoGitPushCommand.PushCommandBuilder> {
 
     private final boolean atomic;
     private final boolean dryRun;
     private final boolean force;
+    private final boolean thin;
     private final String remote;
+    private final List<String> refSpecs;
 
-    private AutoGitPushCommand() {
+    AutoGitPushCommand() {
         this(
                 false,
                 false,
                 false,
+                false,
+                null,
                 null
         );
     }
@@ -27,23 +36,40 @@ public final class AutoGitPushCommand implements AutoGitCommand<Iterable<PushRes
             final boolean atomic,
             final boolean dryRun,
             final boolean force,
-            final String remote
+            final boolean thin,
+            final String remote,
+            final List<String> refSpecs
     ) {
         this.atomic = atomic;
         this.dryRun = dryRun;
         this.force = force;
+        this.thin = thin;
         this.remote = remote;
+        this.refSpecs = refSpecs;
+    }
+
+    public List<String> getRefSpecs() {
+        return this.refSpecs == null ? List.of() : Collections.unmodifiableList(this.refSpecs);
     }
 
     @Override
     public Iterable<PushResult> call() {
+        return AutoGitCommandTracer.trace(this, null, this.remote, this::execute);
+    }
+
+    private Iterable<PushResult> execute() {
         final var pushCommand = GitStorage.getGit().push();
         try {
+            if (this.refSpecs != null && !this.refSpecs.isEmpty()) {
+                pushCommand.setRefSpecs(this.refSpecs.stream().map(RefSpec::new).toList());
+            }
+
             return pushCommand
                     .setAtomic(this.atomic)
                     .setDryRun(this.dryRun)
                     .setForce(this.force)
-                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                    .setThin(this.thin)
+                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("push"))
                     .setRemote(this.remote)
                     .setHookErrorStream(System.err)
                     .setHookOutputStream(System.out)
@@ -59,7 +85,9 @@ public final class AutoGitPushCommand implements AutoGitCommand<Iterable<PushRes
                 .withAtomic(this.atomic)
                 .withDryRun(this.dryRun)
                 .withForce(this.force)
-                .withRemote(this.remote);
+                .withThin(this.thin)
+                .withRemote(this.remote)
+                .withRefSpecs(this.refSpecs == null ? List.of() : this.refSpecs);
     }
 
     @Override
@@ -68,7 +96,9 @@ public final class AutoGitPushCommand implements AutoGitCommand<Iterable<PushRes
                 + "atomic=" + atomic
                 + ", dryRun=" + dryRun
                 + ", force=" + force
+                + ", thin=" + thin
                 + ", remote='" + remote + '\''
+                + ", refSpecs=" + refSpecs
                 + '}';
     }
 
@@ -81,7 +111,9 @@ public final class AutoGitPushCommand implements AutoGitCommand<Iterable<PushRes
         private boolean atomic;
         private boolean dryRun;
         private boolean force;
+        private boolean thin;
         private String remote;
+        private final List<String> refSpecs = new ArrayList<>();
 
         public PushCommandBuilder withAtomic(final boolean atomic) {
             this.atomic = atomic;
@@ -98,18 +130,35 @@ public final class AutoGitPushCommand implements AutoGitCommand<Iterable<PushRes
             return this;
         }
 
+        public PushCommandBuilder withThin(final boolean thin) {
+            this.thin = thin;
+            return this;
+        }
+
         public PushCommandBuilder withRemote(final String remote) {
             this.remote = remote;
             return this;
         }
 
+        public PushCommandBuilder withRefSpec(final String refSpec) {
+            this.refSpecs.add(refSpec);
+            return this;
+        }
+
+        public PushCommandBuilder withRefSpecs(final List<String> refSpecs) {
+            this.refSpecs.addAll(refSpecs);
+            return this;
+        }
+
         @Override
         public AutoGitPushCommand build() {
             return new AutoGitPushCommand(
                     this.atomic,
                     this.dryRun,
                     this.force,
-                    this.remote
+                    this.thin,
+                    this.remote,
+                    this.refSpecs
             );
         }
     }
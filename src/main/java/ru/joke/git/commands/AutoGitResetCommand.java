@@ -4,6 +4,7 @@ import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import ru.joke.classpath.ClassPathIndexed;
 import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonBinding;
 import ru.joke.git.shared.ProgressMonitorStorage;
 
 import java.util.ArrayList;
@@ -20,7 +21,7 @@ public final class AutoGitResetCommand implements AutoGitCommand<String, AutoGit
     private final ResetCommand.ResetType resetMode;
     private final List<String> files;
 
-    private AutoGitResetCommand() {
+    AutoGitResetCommand() {
         this(
                 false, 
                 null,
@@ -43,6 +44,10 @@ public final class AutoGitResetCommand implements AutoGitCommand<String, AutoGit
 
     @Override
     public String call() {
+        return AutoGitCommandTracer.trace(this, this.ref, null, this::execute);
+    }
+
+    private String execute() {
         final var resetCommand = GitStorage.getGit().reset();
         try {
             if (this.files != null) {
@@ -50,7 +55,7 @@ public final class AutoGitResetCommand implements AutoGitCommand<String, AutoGit
             }
             
             return resetCommand
-                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                    .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("reset"))
                     .setMode(this.resetMode)
                     .setRef(this.ref)
                     .disableRefLog(this.disableRefLog)
@@ -89,7 +94,7 @@ public final class AutoGitResetCommand implements AutoGitCommand<String, AutoGit
         private boolean disableRefLog;
         private String ref;
         private ResetCommand.ResetType resetMode = DEFAULT_RESET_MODE;
-        private List<String> files;
+        private final List<String> files = new ArrayList<>();
 
         public ResetCommandBuilder withDisableRefLog(final boolean disableRefLog) {
             this.disableRefLog = disableRefLog;
@@ -111,6 +116,7 @@ public final class AutoGitResetCommand implements AutoGitCommand<String, AutoGit
             return this;
         }
 
+        @JsonBinding.Field("files")
         public ResetCommandBuilder withFilesToReset(final List<String> files) {
             this.files.addAll(files);
             return this;
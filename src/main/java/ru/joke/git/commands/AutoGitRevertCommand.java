@@ -3,6 +3,7 @@ package ru.joke.git.commands;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import ru.joke.classpath.ClassPathIndexed;
 import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonBinding;
 import ru.joke.git.shared.ProgressMonitorStorage;
 
 import java.io.IOException;
@@ -20,7 +21,7 @@ public final class AutoGitRevertCommand implements AutoGitCommand<String, AutoGi
     private final boolean insertChangeId;
     private final String ourCommitName;
 
-    private AutoGitRevertCommand() {
+    AutoGitRevertCommand() {
         this(
                 null,
                 DEFAULT_MERGE_STRATEGY,
@@ -43,6 +44,10 @@ public final class AutoGitRevertCommand implements AutoGitCommand<String, AutoGi
 
     @Override
     public String call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private String execute() {
 
         if (this.include == null || this.include.isEmpty()) {
             throw new IllegalStateException("Refs is required for revert command");
@@ -61,7 +66,7 @@ public final class AutoGitRevertCommand implements AutoGitCommand<String, AutoGi
             final var result =
                     revertCommand
                             .setStrategy(this.mergeStrategy.getStrategy())
-                            .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                            .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("revert"))
                             .setOurCommitName(this.ourCommitName)
                             .setInsertChangeId(this.insertChangeId)
                             .call();
@@ -102,6 +107,7 @@ public final class AutoGitRevertCommand implements AutoGitCommand<String, AutoGi
         private boolean insertChangeId;
         private String ourCommitName;
 
+        @JsonBinding.Field("include")
         public RevertCommandBuilder include(final List<String> include) {
             this.include.addAll(include);
             return this;
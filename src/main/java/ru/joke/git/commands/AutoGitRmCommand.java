@@ -14,7 +14,7 @@ public final class AutoGitRmCommand implements AutoGitCommand<Boolean, AutoGitRm
     private final boolean cached;
     private final Set<String> files;
 
-    private AutoGitRmCommand() {
+    AutoGitRmCommand() {
         this(false, null);
     }
 
@@ -28,6 +28,10 @@ public final class AutoGitRmCommand implements AutoGitCommand<Boolean, AutoGitRm
 
     @Override
     public Boolean call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private Boolean execute() {
         if (this.files == null || this.files.isEmpty()) {
             throw new IllegalStateException("File patterns is required for rm command");
         }
@@ -5,6 +5,7 @@ import org.eclipse.jgit.lib.IndexDiff;
 import org.eclipse.jgit.submodule.SubmoduleWalk;
 import ru.joke.classpath.ClassPathIndexed;
 import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonBinding;
 import ru.joke.git.shared.ProgressMonitorStorage;
 
 import java.util.Map;
@@ -15,7 +16,7 @@ public final class AutoGitStatusCommand implements AutoGitCommand<AutoGitStatusC
 
     private final SubmoduleWalk.IgnoreSubmoduleMode ignoreSubmoduleMode;
 
-    private AutoGitStatusCommand() {
+    AutoGitStatusCommand() {
         this(null);
     }
 
@@ -25,11 +26,15 @@ public final class AutoGitStatusCommand implements AutoGitCommand<AutoGitStatusC
 
     @Override
     public Status call() {
+        return AutoGitCommandTracer.trace(this, this::execute);
+    }
+
+    private Status execute() {
         final var statusCommand = GitStorage.getGit().status();
         try {
             final var result =
                     statusCommand
-                            .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor())
+                            .setProgressMonitor(ProgressMonitorStorage.getProgressMonitor("status"))
                             .setIgnoreSubmodules(this.ignoreSubmoduleMode)
                             .call();
 
@@ -65,6 +70,7 @@ public final class AutoGitStatusCommand implements AutoGitCommand<AutoGitStatusC
         return new StatusCommandBuilder();
     }
 
+    @JsonBinding
     public record Status(
             Set<String> added,
             Set<String> changed,
@@ -0,0 +1,130 @@
+package ru.joke.git.commands;
+
+import java.util.Comparator;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+public record BranchSelector(
+        String pattern,
+        boolean regex,
+        String minVersion,
+        String maxVersion
+) {
+
+    static final Comparator<String> VERSION_ORDER = BranchSelector::compareByVersion;
+
+    private static final Pattern VERSION_PATTERN = Pattern.compile("\\d+(?:\\.\\d+)*");
+    private static final String GLOB_META_CHARS = "*?[";
+    private static final String REGEX_META_CHARS = "\\.[]{}()<>*+-=!?^$|";
+    private static final String REGEX_QUANTIFIERS = "*+?{";
+
+    public BranchSelector {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Pattern is required for branch selector");
+        }
+        if (minVersion != null && !VERSION_PATTERN.matcher(minVersion).matches()
+                || maxVersion != null && !VERSION_PATTERN.matcher(maxVersion).matches()) {
+            throw new IllegalArgumentException("Version bounds of branch selector must be dot-separated numbers");
+        }
+    }
+
+    String literalPrefix() {
+        if (this.regex && this.pattern.indexOf('|') >= 0) {
+            return "";
+        }
+
+        final var metaChars = this.regex ? REGEX_META_CHARS : GLOB_META_CHARS;
+        final var start = this.regex && this.pattern.startsWith("^") ? 1 : 0;
+
+        int end = start;
+        while (end < this.pattern.length() && metaChars.indexOf(this.pattern.charAt(end)) < 0) {
+            end++;
+        }
+
+        if (this.regex && end > start && end < this.pattern.length() && REGEX_QUANTIFIERS.indexOf(this.pattern.charAt(end)) >= 0) {
+            end--;
+        }
+
+        return this.pattern.substring(start, end);
+    }
+
+    Predicate<String> toMatcher() {
+        final var compiledPattern = Pattern.compile(this.regex ? this.pattern : globToRegex(this.pattern));
+        return branch -> compiledPattern.matcher(branch).matches() && isInVersionRange(branch);
+    }
+
+    private boolean isInVersionRange(final String branch) {
+        if (this.minVersion == null && this.maxVersion == null) {
+            return true;
+        }
+
+        final var version = extractVersion(branch);
+        return version != null
+                && (this.minVersion == null || compareVersions(version, this.minVersion) >= 0)
+                && (this.maxVersion == null || compareVersions(version, this.maxVersion) <= 0);
+    }
+
+    private static String globToRegex(final String glob) {
+        final var result = new StringBuilder(glob.length() * 2);
+        for (int i = 0; i < glob.length(); i++) {
+            final var ch = glob.charAt(i);
+            switch (ch) {
+                case '*' -> {
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        result.append(".*");
+                        i++;
+                    } else {
+                        result.append("[^/]*");
+                    }
+                }
+                case '?' -> result.append("[^/]");
+                case '[' -> {
+                    final var closingBracket = glob.indexOf(']', i + 1);
+                    if (closingBracket < 0) {
+                        result.append("\\[");
+                    } else {
+                        result.append(glob, i, closingBracket + 1);
+                        i = closingBracket;
+                    }
+                }
+                default -> result.append(Pattern.quote(String.valueOf(ch)));
+            }
+        }
+
+        return result.toString();
+    }
+
+    private static String extractVersion(final String branch) {
+        final var matcher = VERSION_PATTERN.matcher(branch);
+        return matcher.find() ? matcher.group() : null;
+    }
+
+    private static int compareByVersion(final String branch1, final String branch2) {
+        final var version1 = extractVersion(branch1);
+        final var version2 = extractVersion(branch2);
+
+        if (version1 == null || version2 == null) {
+            return version1 == null && version2 == null
+                    ? branch1.compareTo(branch2)
+                    : version1 == null ? 1 : -1;
+        }
+
+        final var result = compareVersions(version1, version2);
+        return result == 0 ? branch1.compareTo(branch2) : result;
+    }
+
+    private static int compareVersions(final String version1, final String version2) {
+        final var segments1 = version1.split("\\.");
+        final var segments2 = version2.split("\\.");
+
+        for (int i = 0; i < Math.max(segments1.length, segments2.length); i++) {
+            final var segment1 = i < segments1.length ? Long.parseLong(segments1[i]) : 0;
+            final var segment2 = i < segments2.length ? Long.parseLong(segments2[i]) : 0;
+            if (segment1 != segment2) {
+                return Long.compare(segment1, segment2);
+            }
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,112 @@
+package ru.joke.git.commands;
+
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.merge.ContentMergeStrategy;
+import org.eclipse.jgit.merge.ResolveMerger;
+import org.eclipse.jgit.merge.ThreeWayMerger;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+final class InCoreCherryPicker {
+
+    private final Repository repository;
+    private final MergeStrategy mergeStrategy;
+    private final ContentMergeStrategy contentMergeStrategy;
+
+    InCoreCherryPicker(
+            final Repository repository,
+            final MergeStrategy mergeStrategy,
+            final ContentMergeStrategy contentMergeStrategy
+    ) {
+        this.repository = repository;
+        this.mergeStrategy = mergeStrategy;
+        this.contentMergeStrategy = contentMergeStrategy;
+    }
+
+    Result cherryPick(final ObjectId targetTip, final List<ObjectId> commits) throws IOException {
+        try (final var inserter = this.repository.newObjectInserter()) {
+            final var result = cherryPick(inserter, targetTip, commits);
+            if (!result.conflicting()) {
+                inserter.flush();
+            }
+
+            return result;
+        }
+    }
+
+    Result predict(final ObjectId targetTip, final List<ObjectId> commits) throws IOException {
+        try (final var inserter = new InMemoryObjectInserter(this.repository)) {
+            return cherryPick(inserter, targetTip, commits);
+        }
+    }
+
+    private Result cherryPick(
+            final ObjectInserter inserter,
+            final ObjectId targetTip,
+            final List<ObjectId> commits
+    ) throws IOException {
+        try (final var revWalk = new RevWalk(inserter.newReader())) {
+
+            var head = revWalk.parseCommit(targetTip);
+            final List<ObjectId> createdCommits = new ArrayList<>(commits.size());
+
+            for (final var commitId : commits) {
+                final var sourceCommit = revWalk.parseCommit(commitId);
+                if (sourceCommit.getParentCount() != 1) {
+                    throw new IllegalStateException("Only non-merge commits can be cherry-picked in memory: " + sourceCommit.name());
+                }
+
+                final var sourceParent = revWalk.parseCommit(sourceCommit.getParent(0));
+                final var merger = (ThreeWayMerger) this.mergeStrategy.getStrategy().newMerger(inserter, this.repository.getConfig());
+                if (merger instanceof ResolveMerger resolveMerger) {
+                    resolveMerger.setContentMergeStrategy(this.contentMergeStrategy);
+                    resolveMerger.setCommitNames(new String[] { "BASE", head.name(), sourceCommit.name() });
+                }
+
+                merger.setBase(sourceParent.getTree());
+                if (!merger.merge(head, sourceCommit)) {
+                    final var conflictingPaths =
+                            merger instanceof ResolveMerger resolveMerger
+                                    ? resolveMerger.getUnmergedPaths()
+                                    : List.<String>of();
+                    return new Result(null, createdCommits, conflictingPaths);
+                }
+
+                if (merger.getResultTreeId().equals(head.getTree())) {
+                    continue;
+                }
+
+                final var commitBuilder = new CommitBuilder();
+                commitBuilder.setTreeId(merger.getResultTreeId());
+                commitBuilder.setParentId(head);
+                commitBuilder.setAuthor(sourceCommit.getAuthorIdent());
+                commitBuilder.setCommitter(new PersonIdent(this.repository));
+                commitBuilder.setMessage(sourceCommit.getFullMessage());
+
+                final var createdCommitId = inserter.insert(commitBuilder);
+                createdCommits.add(createdCommitId);
+                head = revWalk.parseCommit(createdCommitId);
+            }
+
+            return new Result(head, createdCommits, List.of());
+        }
+    }
+
+    record Result(
+            ObjectId newTip,
+            List<ObjectId> createdCommits,
+            List<String> conflictingPaths
+    ) {
+
+        boolean conflicting() {
+            return this.newTip == null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ru.joke.git.commands;
+
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.lib.AbbreviatedObjectId;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.PackParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+final class InMemoryObjectInserter extends ObjectInserter {
+
+    private final Repository repository;
+    private final Map<ObjectId, ObjectLoader> objects = new HashMap<>();
+
+    InMemoryObjectInserter(final Repository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public ObjectId insert(
+            final int type,
+            final byte[] data,
+            final int off,
+            final int len
+    ) {
+        final var id = idFor(type, data, off, len);
+        this.objects.computeIfAbsent(id, k -> new ObjectLoader.SmallObject(type, Arrays.copyOfRange(data, off, off + len)));
+        return id;
+    }
+
+    @Override
+    public ObjectId insert(
+            final int type,
+            final long length,
+            final InputStream in
+    ) throws IOException {
+        final var data = in.readNBytes(Math.toIntExact(length));
+        if (data.length != length) {
+            throw new IOException("Unexpected end of object stream: expected " + length + " bytes, read " + data.length);
+        }
+
+        return insert(type, data, 0, data.length);
+    }
+
+    @Override
+    public PackParser newPackParser(final InputStream in) {
+        throw new UnsupportedOperationException("Pack parsing is not supported by in-memory inserter");
+    }
+
+    @Override
+    public ObjectReader newReader() {
+        return new Reader(this.repository.newObjectReader());
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private final class Reader extends ObjectReader {
+
+        private final ObjectReader delegate;
+
+        private Reader(final ObjectReader delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ObjectReader newReader() {
+            return new Reader(this.delegate.newReader());
+        }
+
+        @Override
+        public Collection<ObjectId> resolve(final AbbreviatedObjectId id) throws IOException {
+            return this.delegate.resolve(id);
+        }
+
+        @Override
+        public ObjectLoader open(final AnyObjectId objectId, final int typeHint) throws IOException {
+            final var loader = objects.get(objectId);
+            if (loader == null) {
+                return this.delegate.open(objectId, typeHint);
+            }
+
+            if (typeHint != OBJ_ANY && loader.getType() != typeHint) {
+                throw new IncorrectObjectTypeException(objectId.copy(), typeHint);
+            }
+
+            return loader;
+        }
+
+        @Override
+        public Set<ObjectId> getShallowCommits() throws IOException {
+            return this.delegate.getShallowCommits();
+        }
+
+        @Override
+        public ObjectInserter getCreatedFromInserter() {
+            return InMemoryObjectInserter.this;
+        }
+
+        @Override
+        public void close() {
+            this.delegate.close();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.joke.git.commands;
+
+import org.eclipse.jgit.diff.PatchIdDiffFormatter;
+import org.eclipse.jgit.internal.storage.file.LockFile;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+final class PatchIdIndex {
+
+    private static final String INDEX_DIR = "auto-git";
+    private static final String INDEX_FILE = "patch-ids";
+    private static final String ENTRY_DELIMITER = " ";
+
+    private final Repository repository;
+    private final Path indexFile;
+    private final Map<ObjectId, ObjectId> patchIds;
+    private final Map<ObjectId, ObjectId> newPatchIds = new LinkedHashMap<>();
+
+    private PatchIdIndex(
+            final Repository repository,
+            final Path indexFile,
+            final Map<ObjectId, ObjectId> patchIds
+    ) {
+        this.repository = repository;
+        this.indexFile = indexFile;
+        this.patchIds = patchIds;
+    }
+
+    static PatchIdIndex load(final Repository repository) throws IOException {
+        final var indexFile = repository.getCommonDirectory().toPath().resolve(INDEX_DIR).resolve(INDEX_FILE);
+        final Map<ObjectId, ObjectId> patchIds = new HashMap<>();
+        readEntries(indexFile, patchIds);
+
+        return new PatchIdIndex(repository, indexFile, patchIds);
+    }
+
+    ObjectId patchIdOf(final RevWalk revWalk, final RevCommit commit) throws IOException {
+        if (commit.getParentCount() > 1) {
+            return null;
+        }
+
+        final var cachedPatchId = this.patchIds.get(commit);
+        if (cachedPatchId != null) {
+            return cachedPatchId;
+        }
+
+        revWalk.parseHeaders(commit);
+        final var parentTree = commit.getParentCount() == 0 ? null : revWalk.parseCommit(commit.getParent(0)).getTree();
+
+        try (final var formatter = new PatchIdDiffFormatter()) {
+            formatter.setRepository(this.repository);
+            formatter.format(parentTree, commit.getTree());
+
+            final var patchId = formatter.getCalulatedPatchId();
+            this.patchIds.put(commit.copy(), patchId);
+            this.newPatchIds.put(commit.copy(), patchId);
+
+            return patchId;
+        }
+    }
+
+    Set<ObjectId> collectPatchIds(final ObjectId tip, final int historyDepth) throws IOException {
+        final Set<ObjectId> result = new HashSet<>();
+        try (final var revWalk = new RevWalk(this.repository)) {
+            revWalk.markStart(revWalk.parseCommit(tip));
+
+            int visited = 0;
+            for (final var commit : revWalk) {
+                if (visited++ >= historyDepth) {
+                    break;
+                }
+
+                final var patchId = patchIdOf(revWalk, commit);
+                if (patchId != null) {
+                    result.add(patchId);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    void store() throws IOException {
+        if (this.newPatchIds.isEmpty()) {
+            return;
+        }
+
+        Files.createDirectories(this.indexFile.getParent());
+
+        final var lockFile = new LockFile(this.indexFile.toFile());
+        if (!lockFile.lock()) {
+            return;
+        }
+
+        try {
+            final Map<ObjectId, ObjectId> entries = new LinkedHashMap<>();
+            readEntries(this.indexFile, entries);
+            entries.putAll(this.newPatchIds);
+
+            final var content = new StringBuilder();
+            entries.forEach((commitId, patchId) ->
+                    content
+                            .append(commitId.name())
+                            .append(ENTRY_DELIMITER)
+                            .append(patchId.name())
+                            .append('\n')
+            );
+
+            lockFile.write(content.toString().getBytes(StandardCharsets.US_ASCII));
+            if (!lockFile.commit()) {
+                throw new IOException("Unable to update patch id index: " + this.indexFile);
+            }
+        } finally {
+            lockFile.unlock();
+        }
+
+        this.newPatchIds.clear();
+    }
+
+    private static void readEntries(final Path indexFile, final Map<ObjectId, ObjectId> target) throws IOException {
+        if (!Files.isRegularFile(indexFile)) {
+            return;
+        }
+
+        try (final var lines = Files.lines(indexFile, StandardCharsets.ISO_8859_1)) {
+            lines
+                    .map(line -> line.split(ENTRY_DELIMITER, -1))
+                    .filter(entry -> entry.length == 2 && ObjectId.isId(entry[0]) && ObjectId.isId(entry[1]))
+                    .forEach(entry -> target.put(ObjectId.fromString(entry[0]), ObjectId.fromString(entry[1])));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.joke.git.commands;
+
+import java.io.InterruptedIOException;
+import java.util.function.Supplier;
+
+record RetryPolicy(
+        int maxRetries,
+        long initialBackoffMillis,
+        long maxBackoffMillis
+) {
+
+    boolean canRetry(final int attempt) {
+        return attempt < this.maxRetries;
+    }
+
+    void backoff(final int attempt) {
+        final var backoffMillis = Math.min(this.initialBackoffMillis << Math.min(attempt, 30), this.maxBackoffMillis);
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    <T> T callOnTransportFailure(final Supplier<T> action, final Runnable onRetry) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException ex) {
+                if (!isTransportFailure(ex) || !canRetry(attempt)) {
+                    throw ex;
+                }
+
+                backoff(attempt);
+                onRetry.run();
+            }
+        }
+    }
+
+    static boolean isTransportFailure(final Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.eclipse.jgit.api.errors.TransportException
+                    || cause instanceof org.eclipse.jgit.errors.TransportException
+                    || cause instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -3,17 +3,29 @@ package ru.joke.git.config;
 public record ApplicationConfiguration(
         String repoPath,
         Auth auth,
-        WindowCacheConfiguration windowCache
+        WindowCacheConfiguration windowCache,
+        RepositoryRegistryConfiguration repositories,
+        OutputMode outputMode,
+        MetricsConfiguration metrics,
+        ProgressConfiguration progress
 ) {
 
     public ApplicationConfiguration(
             final String repoPath,
             final Auth auth,
-            final WindowCacheConfiguration windowCache
+            final WindowCacheConfiguration windowCache,
+            final RepositoryRegistryConfiguration repositories,
+            final OutputMode outputMode,
+            final MetricsConfiguration metrics,
+            final ProgressConfiguration progress
     ) {
         this.repoPath = repoPath;
         this.auth = auth;
         this.windowCache = windowCache == null ? new WindowCacheConfiguration() : windowCache;
+        this.repositories = repositories == null ? new RepositoryRegistryConfiguration() : repositories;
+        this.outputMode = outputMode == null ? OutputMode.PRETTY : outputMode;
+        this.metrics = metrics == null ? new MetricsConfiguration() : metrics;
+        this.progress = progress == null ? new ProgressConfiguration() : progress;
     }
 
     public record Auth(
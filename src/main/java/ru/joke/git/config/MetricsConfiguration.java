@@ -0,0 +1,24 @@
+package ru.joke.git.config;
+
+import ru.joke.git.shared.metrics.CommandMetricsRegistry;
+
+public final class MetricsConfiguration {
+
+    private static final boolean DEFAULT_JMX_ENABLED = false;
+
+    private final boolean jmxEnabled;
+
+    public MetricsConfiguration() {
+        this(DEFAULT_JMX_ENABLED);
+    }
+
+    public MetricsConfiguration(final boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    public void configure(final CommandMetricsRegistry metricsRegistry) {
+        if (this.jmxEnabled) {
+            metricsRegistry.enableJmx();
+        }
+    }
+}
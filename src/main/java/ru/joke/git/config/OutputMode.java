@@ -0,0 +1,8 @@
+package ru.joke.git.config;
+
+public enum OutputMode {
+
+    PRETTY,
+
+    COMPACT
+}
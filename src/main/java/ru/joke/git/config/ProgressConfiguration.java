@@ -0,0 +1,61 @@
+package ru.joke.git.config;
+
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ProgressMonitor;
+import org.eclipse.jgit.lib.TextProgressMonitor;
+import ru.joke.git.shared.JsonService;
+import ru.joke.git.shared.progress.ProgressReporter;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+public final class ProgressConfiguration {
+
+    private static final long DEFAULT_INTERVAL_MILLIS = 1_000;
+
+    private final ProgressMode mode;
+    private final long intervalMillis;
+
+    public ProgressConfiguration() {
+        this(null, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    public ProgressConfiguration(
+            final ProgressMode mode,
+            final long intervalMillis
+    ) {
+        this.mode = mode;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public Function<String, ProgressMonitor> createProgressMonitorFactory(final JsonService jsonService, final boolean daemon) {
+        return switch (resolveMode(daemon)) {
+            case QUIET -> command -> NullProgressMonitor.INSTANCE;
+            case TEXT -> createTextProgressMonitorFactory();
+            case EVENTS -> createEventsProgressMonitorFactory(jsonService);
+        };
+    }
+
+    private ProgressMode resolveMode(final boolean daemon) {
+        if (this.mode != null) {
+            return this.mode;
+        }
+
+        return daemon && System.console() == null ? ProgressMode.QUIET : ProgressMode.TEXT;
+    }
+
+    private Function<String, ProgressMonitor> createTextProgressMonitorFactory() {
+        final var stdOutWriter = new PrintWriter(System.out, true, StandardCharsets.UTF_8);
+        final var progressMonitor = new TextProgressMonitor(stdOutWriter);
+        return command -> progressMonitor;
+    }
+
+    private Function<String, ProgressMonitor> createEventsProgressMonitorFactory(final JsonService jsonService) {
+        final var progressReporter = new ProgressReporter(jsonService, System.err, Duration.ofMillis(this.intervalMillis));
+        Runtime.getRuntime().addShutdownHook(new Thread(progressReporter::close));
+
+        return progressReporter::createMonitor;
+    }
+}
@@ -0,0 +1,10 @@
+package ru.joke.git.config;
+
+public enum ProgressMode {
+
+    TEXT,
+
+    EVENTS,
+
+    QUIET
+}
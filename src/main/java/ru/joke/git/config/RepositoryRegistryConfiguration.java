@@ -0,0 +1,43 @@
+package ru.joke.git.config;
+
+import ru.joke.git.shared.RepositoryRegistry;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+public final class RepositoryRegistryConfiguration {
+
+    private static final int DEFAULT_MAX_OPEN_REPOSITORIES = 64;
+    private static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 300;
+
+    private final Map<String, String> aliases;
+    private final int maxOpenRepositories;
+    private final long idleTimeoutSeconds;
+
+    public RepositoryRegistryConfiguration() {
+        this(
+                Collections.emptyMap(),
+                DEFAULT_MAX_OPEN_REPOSITORIES,
+                DEFAULT_IDLE_TIMEOUT_SECONDS
+        );
+    }
+
+    public RepositoryRegistryConfiguration(
+            final Map<String, String> aliases,
+            final int maxOpenRepositories,
+            final long idleTimeoutSeconds
+    ) {
+        this.aliases = aliases;
+        this.maxOpenRepositories = maxOpenRepositories;
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+    }
+
+    public RepositoryRegistry createRegistry() {
+        return new RepositoryRegistry(
+                this.aliases == null ? Collections.emptyMap() : this.aliases,
+                this.maxOpenRepositories,
+                Duration.ofSeconds(this.idleTimeoutSeconds)
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package ru.joke.git.generator;
+
+public record GenerationResult(
+        String path,
+        String head,
+        int files,
+        long commits,
+        int branches,
+        long objects,
+        int packs,
+        long durationMillis
+) {
+}
@@ -0,0 +1,307 @@
+package ru.joke.git.generator;
+
+import java.util.zip.Deflater;
+
+public final class RepositoryShape {
+
+    private static final int DEFAULT_FILES = 10_000;
+    private static final int DEFAULT_COMMITS = 1_000;
+    private static final int DEFAULT_BRANCHES = 10;
+    private static final int DEFAULT_FAN_OUT = 100;
+    private static final int DEFAULT_CHANGED_FILES_PER_COMMIT = 3;
+    private static final int DEFAULT_MIN_FILE_SIZE = 256;
+    private static final int DEFAULT_MAX_FILE_SIZE = 16 * 1024;
+    private static final double DEFAULT_BINARY_FILE_RATE = 0;
+    private static final int DEFAULT_BINARY_FILE_SIZE = 1024 * 1024;
+    private static final double DEFAULT_RENAME_RATE = 0.05;
+    private static final int DEFAULT_BRANCH_DIVERGENCE = 1;
+    private static final int DEFAULT_MAX_OBJECTS_PER_PACK = 1_000_000;
+    private static final int DEFAULT_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+    private static final long DEFAULT_SEED = 42;
+
+    private final int files;
+    private final int commits;
+    private final int branches;
+    private final int fanOut;
+    private final int changedFilesPerCommit;
+    private final int minFileSize;
+    private final int maxFileSize;
+    private final double binaryFileRate;
+    private final int binaryFileSize;
+    private final double renameRate;
+    private final int branchDivergence;
+    private final int maxObjectsPerPack;
+    private final int compressionLevel;
+    private final long seed;
+
+    RepositoryShape() {
+        this(
+                DEFAULT_FILES,
+                DEFAULT_COMMITS,
+                DEFAULT_BRANCHES,
+                DEFAULT_FAN_OUT,
+                DEFAULT_CHANGED_FILES_PER_COMMIT,
+                DEFAULT_MIN_FILE_SIZE,
+                DEFAULT_MAX_FILE_SIZE,
+                DEFAULT_BINARY_FILE_RATE,
+                DEFAULT_BINARY_FILE_SIZE,
+                DEFAULT_RENAME_RATE,
+                DEFAULT_BRANCH_DIVERGENCE,
+                DEFAULT_MAX_OBJECTS_PER_PACK,
+                DEFAULT_COMPRESSION_LEVEL,
+                DEFAULT_SEED
+        );
+    }
+
+    private RepositoryShape(
+            final int files,
+            final int commits,
+            final int branches,
+            final int fanOut,
+            final int changedFilesPerCommit,
+            final int minFileSize,
+            final int maxFileSize,
+            final double binaryFileRate,
+            final int binaryFileSize,
+            final double renameRate,
+            final int branchDivergence,
+            final int maxObjectsPerPack,
+            final int compressionLevel,
+            final long seed
+    ) {
+        this.files = files;
+        this.commits = commits;
+        this.branches = branches;
+        this.fanOut = fanOut;
+        this.changedFilesPerCommit = changedFilesPerCommit;
+        this.minFileSize = minFileSize;
+        this.maxFileSize = maxFileSize;
+        this.binaryFileRate = binaryFileRate;
+        this.binaryFileSize = binaryFileSize;
+        this.renameRate = renameRate;
+        this.branchDivergence = branchDivergence;
+        this.maxObjectsPerPack = maxObjectsPerPack;
+        this.compressionLevel = compressionLevel;
+        this.seed = seed;
+    }
+
+    public int files() {
+        return this.files;
+    }
+
+    public int commits() {
+        return this.commits;
+    }
+
+    public int branches() {
+        return this.branches;
+    }
+
+    public int fanOut() {
+        return this.fanOut;
+    }
+
+    public int changedFilesPerCommit() {
+        return this.changedFilesPerCommit;
+    }
+
+    public int minFileSize() {
+        return this.minFileSize;
+    }
+
+    public int maxFileSize() {
+        return this.maxFileSize;
+    }
+
+    public double binaryFileRate() {
+        return this.binaryFileRate;
+    }
+
+    public int binaryFileSize() {
+        return this.binaryFileSize;
+    }
+
+    public double renameRate() {
+        return this.renameRate;
+    }
+
+    public int branchDivergence() {
+        return this.branchDivergence;
+    }
+
+    public int maxObjectsPerPack() {
+        return this.maxObjectsPerPack;
+    }
+
+    public int compressionLevel() {
+        return this.compressionLevel;
+    }
+
+    public long seed() {
+        return this.seed;
+    }
+
+    void validate() {
+        if (this.files <= 0 || this.commits <= 0 || this.fanOut <= 0 || this.maxObjectsPerPack <= 0) {
+            throw new IllegalArgumentException("Files, commits, fan-out and max objects per pack of repository shape must be positive");
+        }
+        if (this.branches < 0 || this.branchDivergence < 0 || this.changedFilesPerCommit < 0) {
+            throw new IllegalArgumentException("Branches, branch divergence and changed files per commit of repository shape must not be negative");
+        }
+        if (this.minFileSize < 0 || this.minFileSize > this.maxFileSize || this.binaryFileSize < 0) {
+            throw new IllegalArgumentException("File sizes of repository shape must satisfy 0 <= min <= max");
+        }
+        if (this.binaryFileRate < 0 || this.binaryFileRate > 1 || this.renameRate < 0 || this.renameRate > 1) {
+            throw new IllegalArgumentException("Binary file rate and rename rate of repository shape must be in [0, 1]");
+        }
+    }
+
+    public RepositoryShapeBuilder toBuilder() {
+        return builder()
+                .withFiles(this.files)
+                .withCommits(this.commits)
+                .withBranches(this.branches)
+                .withFanOut(this.fanOut)
+                .withChangedFilesPerCommit(this.changedFilesPerCommit)
+                .withMinFileSize(this.minFileSize)
+                .withMaxFileSize(this.maxFileSize)
+                .withBinaryFileRate(this.binaryFileRate)
+                .withBinaryFileSize(this.binaryFileSize)
+                .withRenameRate(this.renameRate)
+                .withBranchDivergence(this.branchDivergence)
+                .withMaxObjectsPerPack(this.maxObjectsPerPack)
+                .withCompressionLevel(this.compressionLevel)
+                .withSeed(this.seed);
+    }
+
+    @Override
+    public String toString() {
+        return "shape{"
+                + "files=" + files
+                + ", commits=" + commits
+                + ", branches=" + branches
+                + ", fanOut=" + fanOut
+                + ", changedFilesPerCommit=" + changedFilesPerCommit
+                + ", minFileSize=" + minFileSize
+                + ", maxFileSize=" + maxFileSize
+                + ", binaryFileRate=" + binaryFileRate
+                + ", binaryFileSize=" + binaryFileSize
+                + ", renameRate=" + renameRate
+                + ", branchDivergence=" + branchDivergence
+                + ", maxObjectsPerPack=" + maxObjectsPerPack
+                + ", compressionLevel=" + compressionLevel
+                + ", seed=" + seed
+                + '}';
+    }
+
+    public static RepositoryShapeBuilder builder() {
+        return new RepositoryShapeBuilder();
+    }
+
+    public static final class RepositoryShapeBuilder {
+
+        private int files = DEFAULT_FILES;
+        private int commits = DEFAULT_COMMITS;
+        private int branches = DEFAULT_BRANCHES;
+        private int fanOut = DEFAULT_FAN_OUT;
+        private int changedFilesPerCommit = DEFAULT_CHANGED_FILES_PER_COMMIT;
+        private int minFileSize = DEFAULT_MIN_FILE_SIZE;
+        private int maxFileSize = DEFAULT_MAX_FILE_SIZE;
+        private double binaryFileRate = DEFAULT_BINARY_FILE_RATE;
+        private int binaryFileSize = DEFAULT_BINARY_FILE_SIZE;
+        private double renameRate = DEFAULT_RENAME_RATE;
+        private int branchDivergence = DEFAULT_BRANCH_DIVERGENCE;
+        private int maxObjectsPerPack = DEFAULT_MAX_OBJECTS_PER_PACK;
+        private int compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+        private long seed = DEFAULT_SEED;
+
+        public RepositoryShapeBuilder withFiles(final int files) {
+            this.files = files;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withCommits(final int commits) {
+            this.commits = commits;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withBranches(final int branches) {
+            this.branches = branches;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withFanOut(final int fanOut) {
+            this.fanOut = fanOut;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withChangedFilesPerCommit(final int changedFilesPerCommit) {
+            this.changedFilesPerCommit = changedFilesPerCommit;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withMinFileSize(final int minFileSize) {
+            this.minFileSize = minFileSize;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withMaxFileSize(final int maxFileSize) {
+            this.maxFileSize = maxFileSize;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withBinaryFileRate(final double binaryFileRate) {
+            this.binaryFileRate = binaryFileRate;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withBinaryFileSize(final int binaryFileSize) {
+            this.binaryFileSize = binaryFileSize;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withRenameRate(final double renameRate) {
+            this.renameRate = renameRate;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withBranchDivergence(final int branchDivergence) {
+            this.branchDivergence = branchDivergence;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withMaxObjectsPerPack(final int maxObjectsPerPack) {
+            this.maxObjectsPerPack = maxObjectsPerPack;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withCompressionLevel(final int compressionLevel) {
+            this.compressionLevel = compressionLevel;
+            return this;
+        }
+
+        public RepositoryShapeBuilder withSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public RepositoryShape build() {
+            return new RepositoryShape(
+                    this.files,
+                    this.commits,
+                    this.branches,
+                    this.fanOut,
+                    this.changedFilesPerCommit,
+                    this.minFileSize,
+                    this.maxFileSize,
+                    this.binaryFileRate,
+                    this.binaryFileSize,
+                    this.renameRate,
+                    this.branchDivergence,
+                    this.maxObjectsPerPack,
+                    this.compressionLevel,
+                    this.seed
+            );
+        }
+    }
+}
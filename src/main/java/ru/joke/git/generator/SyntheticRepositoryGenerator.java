@@ -0,0 +1,453 @@
+package ru.joke.git.generator;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.internal.storage.file.ObjectDirectory;
+import org.eclipse.jgit.internal.storage.file.PackInserter;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.ProgressMonitor;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.TreeFormatter;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.ReceiveCommand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public final class SyntheticRepositoryGenerator {
+
+    public static final String MAIN_BRANCH = "main";
+    public static final String BRANCH_NAME_FORMAT = "branch-%05d";
+
+    private static final String AUTHOR_NAME = "AutoGitOps Generator";
+    private static final String AUTHOR_EMAIL = "generator@auto-git-ops";
+    private static final long BASE_TIME_SECONDS = 1_600_000_000L;
+    private static final String FILE_NAME_PREFIX = "file-";
+    private static final String LEAF_NAME_PREFIX = "sub-";
+    private static final String TOP_NAME_PREFIX = "dir-";
+    private static final int MIN_FILE_NAME_WIDTH = 6;
+    private static final int MIN_DIRECTORY_NAME_WIDTH = 5;
+    private static final int LINE_LENGTH = 64;
+
+    private final RepositoryShape shape;
+
+    public SyntheticRepositoryGenerator(final RepositoryShape shape) {
+        shape.validate();
+        this.shape = shape;
+    }
+
+    public GenerationResult generate(
+            final Path path,
+            final boolean bare,
+            final ProgressMonitor progressMonitor
+    ) {
+        final long startedAt = System.nanoTime();
+
+        try {
+            if (Files.exists(path)) {
+                try (final var entries = Files.list(path)) {
+                    if (entries.findAny().isPresent()) {
+                        throw new IllegalStateException("Target directory of generated repository must be empty: " + path);
+                    }
+                }
+            }
+
+            try (final var git = Git.init()
+                                    .setDirectory(path.toFile())
+                                    .setBare(bare)
+                                    .setInitialBranch(MAIN_BRANCH)
+                                    .call()) {
+                final var repository = git.getRepository();
+                final var generation = new Generation(repository);
+                final var head = generation.run(progressMonitor);
+
+                if (!bare) {
+                    progressMonitor.beginTask("Checking out " + MAIN_BRANCH, ProgressMonitor.UNKNOWN);
+                    git.reset()
+                        .setMode(ResetCommand.ResetType.HARD)
+                        .setRef(Constants.R_HEADS + MAIN_BRANCH)
+                        .setProgressMonitor(progressMonitor)
+                        .call();
+                    progressMonitor.endTask();
+                }
+
+                return new GenerationResult(
+                        path.toAbsolutePath().toString(),
+                        head.name(),
+                        this.shape.files(),
+                        generation.commits,
+                        this.shape.branches(),
+                        generation.objects,
+                        generation.packs,
+                        (System.nanoTime() - startedAt) / 1_000_000
+                );
+            }
+        } catch (IOException | GitAPIException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final class Generation {
+
+        private final Repository repository;
+        private final ObjectDirectory objectDirectory;
+        private final SplittableRandom random;
+        private final int leaves;
+        private final int tops;
+        private final ObjectId[] blobs;
+        private final String[] names;
+        private final String fileNameFormat;
+        private final int[] revisions;
+        private final boolean[] binaries;
+        private final String[] leafNames;
+        private final String[] topNames;
+        private final ObjectId[] leafTrees;
+        private final ObjectId[] topTrees;
+        private final BitSet dirtyLeaves;
+        private final BitSet dirtyTops;
+        private final List<ReceiveCommand> refCommands;
+
+        private byte[] buffer;
+        private PackInserter inserter;
+        private long objectsInPack;
+        private long objects;
+        private int packs;
+        private long commits;
+
+        private Generation(final Repository repository) {
+            this.repository = repository;
+            this.objectDirectory = (ObjectDirectory) repository.getObjectDatabase();
+            this.random = new SplittableRandom(shape.seed());
+
+            final int files = shape.files();
+            this.leaves = (files + shape.fanOut() - 1) / shape.fanOut();
+            this.tops = (this.leaves + shape.fanOut() - 1) / shape.fanOut();
+            this.blobs = new ObjectId[files];
+            this.names = new String[files];
+            this.fileNameFormat = nameFormat(FILE_NAME_PREFIX, MIN_FILE_NAME_WIDTH, files);
+            this.revisions = new int[files];
+            this.binaries = new boolean[files];
+            this.leafNames = names(nameFormat(LEAF_NAME_PREFIX, MIN_DIRECTORY_NAME_WIDTH, this.leaves), this.leaves);
+            this.topNames = names(nameFormat(TOP_NAME_PREFIX, MIN_DIRECTORY_NAME_WIDTH, this.tops), this.tops);
+            this.leafTrees = new ObjectId[this.leaves];
+            this.topTrees = new ObjectId[this.tops];
+            this.dirtyLeaves = new BitSet(this.leaves);
+            this.dirtyTops = new BitSet(this.tops);
+            this.refCommands = new ArrayList<>(shape.branches() + 1);
+            this.buffer = new byte[Math.max(shape.maxFileSize(), shape.binaryFileSize()) + LINE_LENGTH];
+        }
+
+        private ObjectId run(final ProgressMonitor progressMonitor) throws IOException {
+            final var forkPoints = createForkPoints();
+
+            progressMonitor.beginTask("Generating commits", shape.commits() + shape.branches() * shape.branchDivergence());
+            try {
+                openInserter();
+
+                ObjectId head = commit(createInitialTree(), null, "Initial commit");
+                progressMonitor.update(1);
+
+                int branch = 0;
+                for (int i = 1; i <= shape.commits(); i++) {
+                    while (branch < forkPoints.length && forkPoints[branch] < i) {
+                        createBranch(branch++, head, progressMonitor);
+                    }
+
+                    if (i == shape.commits()) {
+                        break;
+                    }
+
+                    head = commit(change(), head, "Commit " + i);
+                    progressMonitor.update(1);
+                }
+
+                closeInserter();
+                this.refCommands.addFirst(new ReceiveCommand(ObjectId.zeroId(), head, Constants.R_HEADS + MAIN_BRANCH));
+                updateRefs(progressMonitor);
+
+                return head;
+            } finally {
+                if (this.inserter != null) {
+                    this.inserter.close();
+                }
+                progressMonitor.endTask();
+            }
+        }
+
+        private String nameFormat(
+                final String prefix,
+                final int minWidth,
+                final int count
+        ) {
+            final var width = Math.max(minWidth, String.valueOf(Math.max(count - 1, 0)).length());
+            return prefix + "%0" + width + "d";
+        }
+
+        private String[] names(final String format, final int count) {
+            final var result = new String[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = String.format(format, i);
+            }
+
+            return result;
+        }
+
+        private int[] createForkPoints() {
+            final var forkPoints = new int[shape.branches()];
+            for (int i = 0; i < forkPoints.length; i++) {
+                forkPoints[i] = this.random.nextInt(shape.commits());
+            }
+
+            Arrays.sort(forkPoints);
+            return forkPoints;
+        }
+
+        private ObjectId createInitialTree() throws IOException {
+            for (int i = 0; i < this.blobs.length; i++) {
+                this.binaries[i] = this.random.nextDouble() < shape.binaryFileRate();
+                this.names[i] = name(i, 0);
+                this.blobs[i] = insertBlob(i);
+            }
+
+            this.dirtyLeaves.set(0, this.leaves);
+            this.dirtyTops.set(0, this.tops);
+            return writeTrees();
+        }
+
+        private ObjectId change() throws IOException {
+            for (int i = 0; i < shape.changedFilesPerCommit(); i++) {
+                changeFile(this.random.nextInt(this.blobs.length));
+            }
+
+            return writeTrees();
+        }
+
+        private void changeFile(final int file) throws IOException {
+            this.revisions[file]++;
+            if (this.random.nextDouble() < shape.renameRate()) {
+                this.names[file] = name(file, this.revisions[file]);
+            } else {
+                this.blobs[file] = insertBlob(file);
+            }
+
+            final int leaf = file / shape.fanOut();
+            this.dirtyLeaves.set(leaf);
+            this.dirtyTops.set(leaf / shape.fanOut());
+        }
+
+        private void createBranch(
+                final int branch,
+                final ObjectId forkPoint,
+                final ProgressMonitor progressMonitor
+        ) throws IOException {
+            final Map<Integer, ObjectId> savedBlobs = new HashMap<>();
+            final Map<Integer, String> savedNames = new HashMap<>();
+            final Map<Integer, Integer> savedRevisions = new HashMap<>();
+            final Map<Integer, ObjectId> savedLeafTrees = new HashMap<>();
+            final Map<Integer, ObjectId> savedTopTrees = new HashMap<>();
+
+            ObjectId head = forkPoint;
+            for (int i = 0; i < shape.branchDivergence(); i++) {
+                for (int j = 0; j < shape.changedFilesPerCommit(); j++) {
+                    final int file = this.random.nextInt(this.blobs.length);
+                    final int leaf = file / shape.fanOut();
+                    savedBlobs.putIfAbsent(file, this.blobs[file]);
+                    savedNames.putIfAbsent(file, this.names[file]);
+                    savedRevisions.putIfAbsent(file, this.revisions[file]);
+                    savedLeafTrees.putIfAbsent(leaf, this.leafTrees[leaf]);
+                    savedTopTrees.putIfAbsent(leaf / shape.fanOut(), this.topTrees[leaf / shape.fanOut()]);
+
+                    changeFile(file);
+                }
+
+                head = commit(writeTrees(), head, "Branch " + branch + " commit " + i);
+                progressMonitor.update(1);
+            }
+
+            savedBlobs.forEach((file, blob) -> this.blobs[file] = blob);
+            savedNames.forEach((file, name) -> this.names[file] = name);
+            savedRevisions.forEach((file, revision) -> this.revisions[file] = revision);
+            savedLeafTrees.forEach((leaf, tree) -> this.leafTrees[leaf] = tree);
+            savedTopTrees.forEach((top, tree) -> this.topTrees[top] = tree);
+
+            this.refCommands.add(new ReceiveCommand(ObjectId.zeroId(), head, Constants.R_HEADS + String.format(BRANCH_NAME_FORMAT, branch)));
+        }
+
+        private ObjectId writeTrees() throws IOException {
+            for (int leaf = this.dirtyLeaves.nextSetBit(0); leaf >= 0; leaf = this.dirtyLeaves.nextSetBit(leaf + 1)) {
+                final var formatter = new TreeFormatter();
+                final int to = Math.min((leaf + 1) * shape.fanOut(), this.blobs.length);
+                for (int file = leaf * shape.fanOut(); file < to; file++) {
+                    formatter.append(this.names[file], FileMode.REGULAR_FILE, this.blobs[file]);
+                }
+
+                this.leafTrees[leaf] = insert(Constants.OBJ_TREE, formatter.toByteArray());
+            }
+
+            for (int top = this.dirtyTops.nextSetBit(0); top >= 0; top = this.dirtyTops.nextSetBit(top + 1)) {
+                final var formatter = new TreeFormatter();
+                final int to = Math.min((top + 1) * shape.fanOut(), this.leaves);
+                for (int leaf = top * shape.fanOut(); leaf < to; leaf++) {
+                    formatter.append(this.leafNames[leaf], FileMode.TREE, this.leafTrees[leaf]);
+                }
+
+                this.topTrees[top] = insert(Constants.OBJ_TREE, formatter.toByteArray());
+            }
+
+            this.dirtyLeaves.clear();
+            this.dirtyTops.clear();
+
+            final var formatter = new TreeFormatter();
+            for (int top = 0; top < this.tops; top++) {
+                formatter.append(this.topNames[top], FileMode.TREE, this.topTrees[top]);
+            }
+
+            return insert(Constants.OBJ_TREE, formatter.toByteArray());
+        }
+
+        private ObjectId commit(
+                final ObjectId tree,
+                final ObjectId parent,
+                final String message
+        ) throws IOException {
+            final var ident = new PersonIdent(
+                    AUTHOR_NAME,
+                    AUTHOR_EMAIL,
+                    Instant.ofEpochSecond(BASE_TIME_SECONDS + this.commits * 60),
+                    ZoneOffset.UTC
+            );
+
+            final var commit = new CommitBuilder();
+            commit.setTreeId(tree);
+            if (parent != null) {
+                commit.setParentId(parent);
+            }
+            commit.setAuthor(ident);
+            commit.setCommitter(ident);
+            commit.setMessage(message);
+
+            this.commits++;
+            return insert(Constants.OBJ_COMMIT, commit.build());
+        }
+
+        private String name(final int file, final int revision) {
+            final var name = revision == 0 ? String.format(this.fileNameFormat, file) : String.format(this.fileNameFormat + "-%d", file, revision);
+            return name + (this.binaries[file] ? ".bin" : ".txt");
+        }
+
+        private ObjectId insertBlob(final int file) throws IOException {
+            final var header = ("file " + file + " revision " + this.revisions[file] + '\n').getBytes(StandardCharsets.US_ASCII);
+            final int size = Math.max(header.length, this.binaries[file] ? shape.binaryFileSize() : nextTextSize());
+            if (this.buffer.length < size) {
+                this.buffer = new byte[size];
+            }
+
+            System.arraycopy(header, 0, this.buffer, 0, header.length);
+            if (this.binaries[file]) {
+                fillBinary(header.length, size);
+            } else {
+                fillText(header.length, size);
+            }
+
+            return insert(Constants.OBJ_BLOB, this.buffer, size);
+        }
+
+        private int nextTextSize() {
+            if (shape.minFileSize() == shape.maxFileSize()) {
+                return shape.minFileSize();
+            }
+
+            final double min = Math.log(shape.minFileSize() + 1);
+            final double max = Math.log(shape.maxFileSize() + 1);
+            return (int) Math.exp(min + this.random.nextDouble() * (max - min)) - 1;
+        }
+
+        private void fillBinary(final int from, final int to) {
+            int i = from;
+            while (i < to) {
+                long value = this.random.nextLong();
+                for (int j = 0; j < Long.BYTES && i < to; j++, i++) {
+                    this.buffer[i] = (byte) value;
+                    value >>>= Byte.SIZE;
+                }
+            }
+        }
+
+        private void fillText(final int from, final int to) {
+            int i = from;
+            while (i < to) {
+                long value = this.random.nextLong();
+                for (int j = 0; j < 12 && i < to; j++, i++) {
+                    this.buffer[i] = (i - from) % LINE_LENGTH == LINE_LENGTH - 1 ? (byte) '\n' : (byte) ('a' + (value & 0x1F) % 26);
+                    value >>>= 5;
+                }
+            }
+        }
+
+        private ObjectId insert(final int type, final byte[] data) throws IOException {
+            return insert(type, data, data.length);
+        }
+
+        private ObjectId insert(final int type, final byte[] data, final int length) throws IOException {
+            if (this.objectsInPack >= shape.maxObjectsPerPack()) {
+                closeInserter();
+                openInserter();
+            }
+
+            this.objectsInPack++;
+            this.objects++;
+            return this.inserter.insert(type, data, 0, length);
+        }
+
+        private void openInserter() {
+            this.inserter = this.objectDirectory.newPackInserter();
+            this.inserter.checkExisting(false);
+            this.inserter.setCompressionLevel(shape.compressionLevel());
+            this.objectsInPack = 0;
+        }
+
+        private void closeInserter() throws IOException {
+            if (this.objectsInPack > 0) {
+                this.inserter.flush();
+                this.packs++;
+            }
+
+            this.inserter.close();
+            this.inserter = null;
+        }
+
+        private void updateRefs(final ProgressMonitor progressMonitor) throws IOException {
+            final var refUpdate = this.repository.getRefDatabase().newBatchUpdate();
+            refUpdate.setAtomic(true);
+            refUpdate.setAllowNonFastForwards(true);
+            refUpdate.disableRefLog();
+            refUpdate.addCommand(this.refCommands);
+
+            try (final var revWalk = new RevWalk(this.repository)) {
+                refUpdate.execute(revWalk, progressMonitor);
+            }
+
+            for (final var command : this.refCommands) {
+                if (command.getResult() != ReceiveCommand.Result.OK) {
+                    throw new IllegalStateException("Unable to create ref " + command.getRefName() + ": " + command.getResult());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package ru.joke.git.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@SupportedAnnotationTypes(AutoGitCommandIndexProcessor.INDEXED_ANNOTATION)
+public final class AutoGitCommandIndexProcessor extends AbstractProcessor {
+
+    static final String INDEXED_ANNOTATION = "ru.joke.classpath.ClassPathIndexed";
+
+    private static final String COMMAND_INTERFACE = "ru.joke.git.commands.AutoGitCommand";
+    private static final String INDEX_PACKAGE = "ru.joke.git.commands";
+    private static final String INDEX_CLASS = "AutoGitCommandIndex";
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (this.generated || annotations.isEmpty()) {
+            return false;
+        }
+
+        final var commandInterface = this.processingEnv.getElementUtils().getTypeElement(COMMAND_INTERFACE);
+        if (commandInterface == null) {
+            return false;
+        }
+
+        final var typeUtils = this.processingEnv.getTypeUtils();
+        final var commandType = typeUtils.erasure(commandInterface.asType());
+        final Map<String, String> commandsByAlias = new TreeMap<>();
+        final Map<String, String> aliasesByCommand = new TreeMap<>();
+
+        for (final var annotation : annotations) {
+            for (final var element : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (element.getKind() != ElementKind.CLASS
+                        || element.getModifiers().contains(Modifier.ABSTRACT)
+                        || !typeUtils.isAssignable(typeUtils.erasure(element.asType()), commandType)) {
+                    continue;
+                }
+
+                if (!hasAccessibleDefaultConstructor(element)) {
+                    error(element, "Command must declare a non-private no-arg constructor in package " + INDEX_PACKAGE);
+                    continue;
+                }
+
+                for (final var alias : findAliases(element)) {
+                    final var previous = commandsByAlias.put(alias, element.getQualifiedName().toString());
+                    if (previous != null) {
+                        error(element, "Command alias '" + alias + "' is already used by " + previous);
+                    }
+
+                    aliasesByCommand.putIfAbsent(element.getQualifiedName().toString(), alias);
+                }
+            }
+        }
+
+        writeIndex(commandsByAlias, aliasesByCommand);
+        this.generated = true;
+
+        return false;
+    }
+
+    private boolean hasAccessibleDefaultConstructor(final TypeElement element) {
+        final var packageName = this.processingEnv.getElementUtils().getPackageOf(element).getQualifiedName();
+        return INDEX_PACKAGE.contentEquals(packageName)
+                && ElementFilter.constructorsIn(element.getEnclosedElements())
+                                .stream()
+                                .filter(constructor -> constructor.getParameters().isEmpty())
+                                .anyMatch(constructor -> !constructor.getModifiers().contains(Modifier.PRIVATE));
+    }
+
+    private List<String> findAliases(final TypeElement element) {
+        for (final var annotationMirror : element.getAnnotationMirrors()) {
+            final var annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (INDEXED_ANNOTATION.contentEquals(annotationType.getQualifiedName())) {
+                return readValue(annotationMirror);
+            }
+        }
+
+        return List.of();
+    }
+
+    private static List<String> readValue(final AnnotationMirror annotationMirror) {
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotationMirror.getElementValues().entrySet()) {
+            if (!entry.getKey().getSimpleName().contentEquals("value")) {
+                continue;
+            }
+
+            final var value = entry.getValue().getValue();
+            if (value instanceof List<?> values) {
+                return values.stream()
+                                .map(AnnotationValue.class::cast)
+                                .map(AnnotationValue::getValue)
+                                .map(String::valueOf)
+                                .toList();
+            }
+
+            return List.of(String.valueOf(value));
+        }
+
+        return List.of();
+    }
+
+    private void writeIndex(final Map<String, String> commandsByAlias, final Map<String, String> aliasesByCommand) {
+        try {
+            final var sourceFile = this.processingEnv.getFiler().createSourceFile(INDEX_PACKAGE + "." + INDEX_CLASS);
+            try (final var writer = new PrintWriter(sourceFile.openWriter())) {
+                writer.println("package " + INDEX_PACKAGE + ";");
+                writer.println();
+                writer.println("import java.util.Map;");
+                writer.println();
+                writer.println("final class " + INDEX_CLASS + " {");
+                writer.println();
+                writer.println("    static final Map<String, AutoGitCommandDescriptor> COMMANDS = Map.ofEntries(");
+
+                var remaining = commandsByAlias.size();
+                for (final var entry : commandsByAlias.entrySet()) {
+                    writer.println(
+                            "            Map.entry(\"%s\", new AutoGitCommandDescriptor(%s.class, %s::new))%s"
+                                    .formatted(entry.getKey(), entry.getValue(), entry.getValue(), --remaining > 0 ? "," : "")
+                    );
+                }
+
+                writer.println("    );");
+                writer.println();
+                writer.println("    static final Map<Class<?>, String> ALIASES = Map.ofEntries(");
+
+                remaining = aliasesByCommand.size();
+                for (final var entry : aliasesByCommand.entrySet()) {
+                    writer.println(
+                            "            Map.entry(%s.class, \"%s\")%s"
+                                    .formatted(entry.getKey(), entry.getValue(), --remaining > 0 ? "," : "")
+                    );
+                }
+
+                writer.println("    );");
+                writer.println();
+                writer.println("    private " + INDEX_CLASS + "() {}");
+                writer.println("}");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void error(final TypeElement element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
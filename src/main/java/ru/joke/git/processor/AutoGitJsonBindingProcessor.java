@@ -0,0 +1,401 @@
+package ru.joke.git.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@SupportedAnnotationTypes({
+        AutoGitCommandIndexProcessor.INDEXED_ANNOTATION,
+        AutoGitJsonBindingProcessor.BINDING_ANNOTATION
+})
+public final class AutoGitJsonBindingProcessor extends AbstractProcessor {
+
+    static final String BINDING_ANNOTATION = "ru.joke.git.shared.JsonBinding";
+
+    private static final String FIELD_ANNOTATION = "ru.joke.git.shared.JsonBinding.Field";
+
+    private static final String COMMAND_INTERFACE = "ru.joke.git.commands.AutoGitCommand";
+    private static final String BINDINGS_PACKAGE = "ru.joke.git.commands";
+    private static final String BINDINGS_CLASS = "AutoGitJsonBindings";
+    private static final String TO_BUILDER_METHOD = "toBuilder";
+    private static final String BUILDER_METHOD = "builder";
+    private static final String BUILDER_METHOD_PREFIX = "with";
+    private static final Set<String> SKIPPED_TYPES = Set.of("org.eclipse.jgit.lib.AnyObjectId", "org.eclipse.jgit.revwalk.RevCommit");
+
+    private final Map<String, TypeElement> commands = new LinkedHashMap<>();
+    private final Map<String, TypeElement> results = new LinkedHashMap<>();
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        final var commandInterface = this.processingEnv.getElementUtils().getTypeElement(COMMAND_INTERFACE);
+        final var typeUtils = this.processingEnv.getTypeUtils();
+
+        for (final var annotation : annotations) {
+            final var bindingAnnotation = BINDING_ANNOTATION.contentEquals(annotation.getQualifiedName());
+            for (final var element : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (!BINDINGS_PACKAGE.contentEquals(this.processingEnv.getElementUtils().getPackageOf(element).getQualifiedName())) {
+                    if (bindingAnnotation) {
+                        error(element, "Json binding is supported only for types in package " + BINDINGS_PACKAGE);
+                    }
+                    continue;
+                }
+
+                if (bindingAnnotation) {
+                    this.results.put(element.getQualifiedName().toString(), element);
+                } else if (commandInterface != null
+                        && element.getKind() == ElementKind.CLASS
+                        && !element.getModifiers().contains(Modifier.ABSTRACT)
+                        && typeUtils.isAssignable(typeUtils.erasure(element.asType()), typeUtils.erasure(commandInterface.asType()))) {
+                    this.commands.put(element.getQualifiedName().toString(), element);
+                }
+            }
+        }
+
+        if (!this.generated && !(this.commands.isEmpty() && this.results.isEmpty())) {
+            writeBindings();
+            this.generated = true;
+        }
+
+        return false;
+    }
+
+    private void writeBindings() {
+        final List<AdapterSource> adapters = new ArrayList<>();
+        this.commands.values().forEach(command -> adapters.add(createCommandAdapter(command)));
+        this.results.values().forEach(result -> adapters.add(createResultAdapter(result)));
+
+        try {
+            final var sourceFile = this.processingEnv.getFiler().createSourceFile(BINDINGS_PACKAGE + "." + BINDINGS_CLASS);
+            try (final var writer = new PrintWriter(sourceFile.openWriter())) {
+                writer.println("package " + BINDINGS_PACKAGE + ";");
+                writer.println();
+                writer.println("import com.google.gson.Gson;");
+                writer.println("import com.google.gson.TypeAdapter;");
+                writer.println("import com.google.gson.TypeAdapterFactory;");
+                writer.println("import com.google.gson.reflect.TypeToken;");
+                writer.println("import com.google.gson.stream.JsonReader;");
+                writer.println("import com.google.gson.stream.JsonToken;");
+                writer.println("import com.google.gson.stream.JsonWriter;");
+                writer.println();
+                writer.println("import java.io.IOException;");
+                writer.println();
+                writer.println("public final class " + BINDINGS_CLASS + " implements TypeAdapterFactory {");
+                writer.println();
+                writer.println("    @Override");
+                writer.println("    @SuppressWarnings(\"unchecked\")");
+                writer.println("    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {");
+                writer.println("        final var rawType = type.getRawType();");
+                for (final var adapter : adapters) {
+                    writer.println("        if (rawType == " + adapter.typeName() + ".class) {");
+                    writer.println("            return (TypeAdapter<T>) new " + adapter.adapterName() + "(gson, gson.getDelegateAdapter(this, TypeToken.get(" + adapter.typeName() + ".class)));");
+                    writer.println("        }");
+                }
+                writer.println();
+                writer.println("        return null;");
+                writer.println("    }");
+
+                adapters.forEach(adapter -> writer.print(adapter.source()));
+
+                writer.println("}");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private AdapterSource createCommandAdapter(final TypeElement command) {
+        final var typeName = command.getQualifiedName().toString();
+        final var adapterName = adapterNameOf(command);
+        final var builderMethods = findBuilderMethods(command);
+        final var fields = instanceFields(command);
+
+        final var generatedRead = builderMethods != null && fields.stream().allMatch(field -> builderMethods.containsKey(field));
+        if (!generatedRead) {
+            note(command, "Builder does not cover all fields, reflective binding is used for " + typeName);
+        }
+
+        final var source = new StringBuilder();
+        final var adapterFields = new StringBuilder();
+        final var adapterInit = new StringBuilder();
+        final var readCases = new StringBuilder();
+
+        if (generatedRead) {
+            for (int i = 0; i < fields.size(); i++) {
+                final var field = fields.get(i);
+                final var builderMethod = builderMethods.get(field);
+                final var type = builderMethod.getParameters().getFirst().asType();
+                readCases.append("                    case \"").append(jsonNameOf(field)).append("\" -> builder.").append(builderMethod.getSimpleName()).append('(')
+                         .append(readExpression(type, "a" + i)).append(");\n");
+                appendAdapterField(adapterFields, adapterInit, type, "a" + i);
+            }
+        }
+
+        source.append('\n')
+              .append("    private static final class ").append(adapterName).append(" extends TypeAdapter<").append(typeName).append("> {\n\n")
+              .append("        private final TypeAdapter<").append(typeName).append("> delegate;\n")
+              .append(adapterFields)
+              .append('\n')
+              .append("        private ").append(adapterName).append("(final Gson gson, final TypeAdapter<").append(typeName).append("> delegate) {\n")
+              .append("            this.delegate = delegate;\n")
+              .append(adapterInit)
+              .append("        }\n\n")
+              .append("        @Override\n")
+              .append("        public void write(final JsonWriter out, final ").append(typeName).append(" value) throws IOException {\n")
+              .append("            this.delegate.write(out, value);\n")
+              .append("        }\n\n")
+              .append("        @Override\n")
+              .append("        public ").append(typeName).append(" read(final JsonReader in) throws IOException {\n");
+        if (generatedRead) {
+            source.append("            if (in.peek() == JsonToken.NULL) {\n")
+                  .append("                in.nextNull();\n")
+                  .append("                return null;\n")
+                  .append("            }\n\n")
+                  .append("            final var builder = ").append(typeName).append('.').append(BUILDER_METHOD).append("();\n")
+                  .append("            in.beginObject();\n")
+                  .append("            while (in.hasNext()) {\n")
+                  .append("                final var name = in.nextName();\n")
+                  .append("                if (in.peek() == JsonToken.NULL) {\n")
+                  .append("                    in.nextNull();\n")
+                  .append("                    continue;\n")
+                  .append("                }\n\n")
+                  .append("                switch (name) {\n")
+                  .append(readCases)
+                  .append("                    default -> in.skipValue();\n")
+                  .append("                }\n")
+                  .append("            }\n")
+                  .append("            in.endObject();\n\n")
+                  .append("            return builder.build();\n");
+        } else {
+            source.append("            return this.delegate.read(in);\n");
+        }
+        source.append("        }\n")
+              .append("    }\n");
+
+        return new AdapterSource(typeName, adapterName, source.toString());
+    }
+
+    private AdapterSource createResultAdapter(final TypeElement result) {
+        final var typeName = result.getQualifiedName().toString();
+        final var adapterName = adapterNameOf(result);
+        final var isRecord = result.getKind() == ElementKind.RECORD;
+        final var fields = instanceFields(result);
+
+        final var adapterFields = new StringBuilder();
+        final var adapterInit = new StringBuilder();
+        final var writeStatements = new StringBuilder();
+
+        for (int i = 0; i < fields.size(); i++) {
+            final var field = fields.get(i);
+            if (!isRecord && field.getModifiers().contains(Modifier.PRIVATE)) {
+                error(field, "Field of json bound class must not be private");
+                continue;
+            }
+
+            final var type = field.asType();
+            if (isSkipped(type)) {
+                continue;
+            }
+
+            final var accessor = "value." + field.getSimpleName() + (isRecord ? "()" : "");
+            final var name = jsonNameOf(field);
+            if (type.getKind().isPrimitive()) {
+                writeStatements.append("            out.name(\"").append(name).append("\").value(").append(accessor).append(");\n");
+            } else {
+                writeStatements.append("            final var v").append(i).append(" = ").append(accessor).append(";\n")
+                               .append("            if (v").append(i).append(" != null) {\n")
+                               .append("                out.name(\"").append(name).append("\");\n")
+                               .append("                this.a").append(i).append(".write(out, v").append(i).append(");\n")
+                               .append("            }\n");
+                appendAdapterField(adapterFields, adapterInit, type, "a" + i);
+            }
+        }
+
+        final var source =
+                "\n"
+                + "    private static final class " + adapterName + " extends TypeAdapter<" + typeName + "> {\n\n"
+                + "        private final TypeAdapter<" + typeName + "> delegate;\n"
+                + adapterFields
+                + "\n"
+                + "        private " + adapterName + "(final Gson gson, final TypeAdapter<" + typeName + "> delegate) {\n"
+                + "            this.delegate = delegate;\n"
+                + adapterInit
+                + "        }\n\n"
+                + "        @Override\n"
+                + "        public void write(final JsonWriter out, final " + typeName + " value) throws IOException {\n"
+                + "            if (value == null) {\n"
+                + "                out.nullValue();\n"
+                + "                return;\n"
+                + "            }\n\n"
+                + "            out.beginObject();\n"
+                + writeStatements
+                + "            out.endObject();\n"
+                + "        }\n\n"
+                + "        @Override\n"
+                + "        public " + typeName + " read(final JsonReader in) throws IOException {\n"
+                + "            return this.delegate.read(in);\n"
+                + "        }\n"
+                + "    }\n";
+
+        return new AdapterSource(typeName, adapterName, source);
+    }
+
+    private Map<VariableElement, ExecutableElement> findBuilderMethods(final TypeElement command) {
+        final var toBuilder =
+                ElementFilter.methodsIn(command.getEnclosedElements())
+                                .stream()
+                                .filter(method -> method.getSimpleName().contentEquals(TO_BUILDER_METHOD) && method.getParameters().isEmpty())
+                                .findAny()
+                                .orElse(null);
+        if (toBuilder == null || toBuilder.getReturnType().getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        final var typeUtils = this.processingEnv.getTypeUtils();
+        final var builder = (TypeElement) typeUtils.asElement(toBuilder.getReturnType());
+        final var builderMethods =
+                ElementFilter.methodsIn(builder.getEnclosedElements())
+                                .stream()
+                                .filter(method -> method.getModifiers().contains(Modifier.PUBLIC))
+                                .filter(method -> method.getParameters().size() == 1)
+                                .toList();
+
+        final Map<VariableElement, ExecutableElement> result = new LinkedHashMap<>();
+        for (final var field : instanceFields(command)) {
+            final var fieldName = field.getSimpleName().toString();
+            final var expectedName = BUILDER_METHOD_PREFIX + capitalize(fieldName);
+            builderMethods
+                    .stream()
+                    .filter(method -> method.getSimpleName().contentEquals(expectedName) || fieldName.equals(findBoundField(method)))
+                    .filter(method -> typeUtils.isAssignable(field.asType(), method.getParameters().getFirst().asType()))
+                    .findAny()
+                    .ifPresent(method -> result.put(field, method));
+        }
+
+        return result;
+    }
+
+    private static String findBoundField(final ExecutableElement method) {
+        for (final var annotationMirror : method.getAnnotationMirrors()) {
+            final var annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (FIELD_ANNOTATION.contentEquals(annotationType.getQualifiedName())) {
+                return annotationMirror.getElementValues()
+                                        .values()
+                                        .stream()
+                                        .map(value -> String.valueOf(value.getValue()))
+                                        .findAny()
+                                        .orElse(null);
+            }
+        }
+
+        return null;
+    }
+
+    private static List<VariableElement> instanceFields(final TypeElement type) {
+        return ElementFilter.fieldsIn(type.getEnclosedElements())
+                                .stream()
+                                .filter(field -> !field.getModifiers().contains(Modifier.STATIC))
+                                .toList();
+    }
+
+    private boolean isSkipped(final TypeMirror type) {
+        final var typeUtils = this.processingEnv.getTypeUtils();
+        final var elementUtils = this.processingEnv.getElementUtils();
+        return SKIPPED_TYPES.stream()
+                                .map(elementUtils::getTypeElement)
+                                .filter(skippedType -> skippedType != null)
+                                .anyMatch(skippedType -> typeUtils.isAssignable(typeUtils.erasure(type), typeUtils.erasure(skippedType.asType())));
+    }
+
+    private static void appendAdapterField(
+            final StringBuilder adapterFields,
+            final StringBuilder adapterInit,
+            final TypeMirror type,
+            final String fieldName
+    ) {
+        if (type.getKind().isPrimitive()) {
+            return;
+        }
+
+        adapterFields.append("        private final TypeAdapter<").append(type).append("> ").append(fieldName).append(";\n");
+        adapterInit.append("            this.").append(fieldName).append(" = gson.getAdapter(new TypeToken<").append(type).append(">() {});\n");
+    }
+
+    private static String readExpression(final TypeMirror type, final String adapterField) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "in.nextBoolean()";
+            case INT -> "in.nextInt()";
+            case LONG -> "in.nextLong()";
+            case DOUBLE -> "in.nextDouble()";
+            case FLOAT -> "(float) in.nextDouble()";
+            case SHORT -> "(short) in.nextInt()";
+            case BYTE -> "(byte) in.nextInt()";
+            case CHAR -> "in.nextString().charAt(0)";
+            default -> "this." + adapterField + ".read(in)";
+        };
+    }
+
+    private static String jsonNameOf(final VariableElement field) {
+        final var name = field.getSimpleName().toString();
+        final var result = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            final var ch = name.charAt(i);
+            if (Character.isUpperCase(ch) && !result.isEmpty()) {
+                result.append('.');
+            }
+            result.append(ch);
+        }
+
+        return result.toString().toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String adapterNameOf(final TypeElement type) {
+        final var binaryName = type.getQualifiedName().toString().substring(BINDINGS_PACKAGE.length() + 1);
+        return binaryName.replace(".", "") + "Adapter";
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void note(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+
+    private record AdapterSource(
+            String typeName,
+            String adapterName,
+            String source
+    ) {
+    }
+}
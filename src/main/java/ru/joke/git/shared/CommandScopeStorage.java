@@ -0,0 +1,28 @@
+package ru.joke.git.shared;
+
+import java.util.function.Supplier;
+
+public abstract class CommandScopeStorage {
+
+    private static final ScopedValue<String> scopedCommand = ScopedValue.newInstance();
+
+    public static String findCommand() {
+        return scopedCommand.isBound() ? scopedCommand.get() : null;
+    }
+
+    public static void runWith(final String command, final Runnable action) {
+        if (command == null) {
+            action.run();
+        } else {
+            ScopedValue.where(scopedCommand, command).run(action);
+        }
+    }
+
+    public static <T> T callWith(final String command, final Supplier<T> action) {
+        return command == null
+                ? action.get()
+                : ScopedValue.where(scopedCommand, command).call(action::get);
+    }
+
+    private CommandScopeStorage() {}
+}
@@ -2,16 +2,25 @@ package ru.joke.git.shared;
 
 import org.eclipse.jgit.api.Git;
 
+import java.util.function.Supplier;
+
 public abstract class GitStorage {
 
+    private static final ScopedValue<Git> scopedGit = ScopedValue.newInstance();
+
     private static volatile Git defaultGit;
+    private static volatile Supplier<Git> defaultGitFactory;
 
     public static void setGit(Git git) {
         defaultGit = git;
     }
 
+    public static void setGitFactory(Supplier<Git> gitFactory) {
+        defaultGitFactory = gitFactory;
+    }
+
     public static Git getGit() {
-        final var result = defaultGit;
+        final var result = scopedGit.isBound() ? scopedGit.get() : getDefaultGit();
         if (result == null) {
             throw new RuntimeException();
         }
@@ -19,5 +28,32 @@ public abstract class GitStorage {
         return result;
     }
 
+    public static Git findGit() {
+        return scopedGit.isBound() ? scopedGit.get() : defaultGit;
+    }
+
+    public static void runWith(final Git git, final Runnable action) {
+        ScopedValue.where(scopedGit, git).run(action);
+    }
+
+    public static <T> T callWith(final Git git, final Supplier<T> action) {
+        return ScopedValue.where(scopedGit, git).call(action::get);
+    }
+
+    private static Git getDefaultGit() {
+        var result = defaultGit;
+        if (result == null && defaultGitFactory != null) {
+            synchronized (GitStorage.class) {
+                result = defaultGit;
+                if (result == null) {
+                    result = defaultGitFactory.get();
+                    defaultGit = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
     private GitStorage() {}
 }
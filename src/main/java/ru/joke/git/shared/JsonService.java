@@ -4,13 +4,47 @@ import com.google.gson.*;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.revwalk.RevCommit;
 
+import java.io.IOException;
+import java.io.Writer;
+
 public final class JsonService {
 
-    private final Gson gson =
-            new GsonBuilder()
+    private final Gson gson;
+    private final Gson compactGson;
+
+    public JsonService(final TypeAdapterFactory bindings) {
+        this.gson = createGsonBuilder(bindings).setPrettyPrinting().create();
+        this.compactGson = createGsonBuilder(bindings).create();
+    }
+
+    public String serialize(final Object obj) {
+        return gson.toJson(obj);
+    }
+
+    public String serializeCompact(final Object obj) {
+        return compactGson.toJson(obj);
+    }
+
+    public void serializeCompact(final Object obj, final Writer writer) throws IOException {
+        final var jsonWriter = compactGson.newJsonWriter(writer);
+        if (obj == null) {
+            compactGson.toJson(JsonNull.INSTANCE, jsonWriter);
+        } else {
+            compactGson.toJson(obj, obj.getClass(), jsonWriter);
+        }
+
+        jsonWriter.flush();
+    }
+
+    public <T> T deserialize(final String json, final Class<T> tokenType) {
+        return gson.fromJson(json, tokenType);
+    }
+
+    private static GsonBuilder createGsonBuilder(final TypeAdapterFactory bindings) {
+        return new GsonBuilder()
+                    .registerTypeAdapterFactory(bindings)
                     .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_DOTS)
                     .disableJdkUnsafe()
-                    .setPrettyPrinting()
                     .addSerializationExclusionStrategy(new ExclusionStrategy() {
                         @Override
                         public boolean shouldSkipField(FieldAttributes f) {
@@ -21,14 +55,6 @@ public final class JsonService {
                         public boolean shouldSkipClass(Class<?> clazz) {
                             return clazz == RevCommit.class || ObjectId.class.isAssignableFrom(clazz);
                         }
-                    })
-            .create();
-
-    public String serialize(final Object obj) {
-        return gson.toJson(obj);
-    }
-
-    public <T> T deserialize(final String json, final Class<T> tokenType) {
-        return gson.fromJson(json, tokenType);
+                    });
     }
 }
@@ -2,21 +2,23 @@ package ru.joke.git.shared;
 
 import org.eclipse.jgit.lib.ProgressMonitor;
 
+import java.util.function.Function;
+
 public abstract class ProgressMonitorStorage {
 
-    private static volatile ProgressMonitor defaultProgressMonitor;
+    private static volatile Function<String, ProgressMonitor> progressMonitorFactory;
 
-    public static void setProgressMonitor(ProgressMonitor progressMonitor) {
-        defaultProgressMonitor = progressMonitor;
+    public static void setProgressMonitorFactory(Function<String, ProgressMonitor> factory) {
+        progressMonitorFactory = factory;
     }
 
-    public static ProgressMonitor getProgressMonitor() {
-        final var result = defaultProgressMonitor;
-        if (result == null) {
+    public static ProgressMonitor getProgressMonitor(final String command) {
+        final var factory = progressMonitorFactory;
+        if (factory == null) {
             throw new RuntimeException();
         }
 
-        return result;
+        return factory.apply(command);
     }
 
     private ProgressMonitorStorage() {}
@@ -0,0 +1,163 @@
+package ru.joke.git.shared;
+
+import org.eclipse.jgit.api.Git;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+public final class RepositoryRegistry implements AutoCloseable {
+
+    private final Map<String, Path> aliases = new ConcurrentHashMap<>();
+    private final Map<Path, ReentrantLock> repositoryLocks = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Path, OpenRepository> openRepositories = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxOpenRepositories;
+    private final long idleTimeoutNanos;
+    private final ScheduledExecutorService idleEvictionExecutor;
+
+    public RepositoryRegistry(
+            final Map<String, String> aliases,
+            final int maxOpenRepositories,
+            final Duration idleTimeout
+    ) {
+        if (maxOpenRepositories <= 0) {
+            throw new IllegalArgumentException("Max count of open repositories must be positive");
+        }
+
+        aliases.forEach(this::register);
+
+        this.maxOpenRepositories = maxOpenRepositories;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.idleEvictionExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("auto-git-repo-eviction").factory());
+
+        final var evictionPeriodMillis = Math.max(idleTimeout.toMillis() / 2, 1);
+        this.idleEvictionExecutor.scheduleWithFixedDelay(this::evictIdle, evictionPeriodMillis, evictionPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void register(final String alias, final String path) {
+        if (alias == null || alias.isBlank() || path == null || path.isBlank()) {
+            throw new IllegalArgumentException("Alias and path are required for repository registration");
+        }
+
+        this.aliases.put(alias, normalize(path));
+    }
+
+    public <T> T callWith(final String repoSelector, final Supplier<T> action) {
+        final var path = resolvePath(repoSelector);
+        final var lock = this.repositoryLocks.computeIfAbsent(path, k -> new ReentrantLock());
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        try {
+            final var repository = acquire(path);
+            try {
+                return GitStorage.callWith(repository.git, action);
+            } finally {
+                release(repository);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.idleEvictionExecutor.shutdownNow();
+        synchronized (this.openRepositories) {
+            this.openRepositories.values().forEach(repository -> repository.git.close());
+            this.openRepositories.clear();
+        }
+    }
+
+    private Path resolvePath(final String repoSelector) {
+        final var aliasedPath = this.aliases.get(repoSelector);
+        return aliasedPath == null ? normalize(repoSelector) : aliasedPath;
+    }
+
+    private OpenRepository acquire(final Path path) {
+        synchronized (this.openRepositories) {
+            var repository = this.openRepositories.get(path);
+            if (repository == null) {
+                repository = open(path);
+                this.openRepositories.put(path, repository);
+                evictOverLimit();
+            }
+
+            repository.inUse++;
+            return repository;
+        }
+    }
+
+    private void release(final OpenRepository repository) {
+        synchronized (this.openRepositories) {
+            repository.inUse--;
+            repository.lastAccessNanos = System.nanoTime();
+            evictOverLimit();
+        }
+    }
+
+    private void evictOverLimit() {
+        final var iterator = this.openRepositories.values().iterator();
+        while (this.openRepositories.size() > this.maxOpenRepositories && iterator.hasNext()) {
+            final var repository = iterator.next();
+            if (repository.inUse == 0) {
+                iterator.remove();
+                repository.git.close();
+            }
+        }
+    }
+
+    private void evictIdle() {
+        final List<OpenRepository> evicted = new ArrayList<>();
+        synchronized (this.openRepositories) {
+            final var now = System.nanoTime();
+            this.openRepositories.values().removeIf(repository -> {
+                final var idle = repository.inUse == 0 && now - repository.lastAccessNanos >= this.idleTimeoutNanos;
+                if (idle) {
+                    evicted.add(repository);
+                }
+
+                return idle;
+            });
+        }
+
+        evicted.forEach(repository -> repository.git.close());
+    }
+
+    private static OpenRepository open(final Path path) {
+        try {
+            return new OpenRepository(Git.open(path.toFile()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Path normalize(final String path) {
+        return Path.of(path).toAbsolutePath().normalize();
+    }
+
+    private static final class OpenRepository {
+
+        private final Git git;
+        private int inUse;
+        private long lastAccessNanos = System.nanoTime();
+
+        private OpenRepository(final Git git) {
+            this.git = git;
+        }
+    }
+}
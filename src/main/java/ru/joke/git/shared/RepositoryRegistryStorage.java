@@ -0,0 +1,21 @@
+package ru.joke.git.shared;
+
+public abstract class RepositoryRegistryStorage {
+
+    private static volatile RepositoryRegistry defaultRepositoryRegistry;
+
+    public static void setRepositoryRegistry(RepositoryRegistry repositoryRegistry) {
+        defaultRepositoryRegistry = repositoryRegistry;
+    }
+
+    public static RepositoryRegistry getRepositoryRegistry() {
+        final var result = defaultRepositoryRegistry;
+        if (result == null) {
+            throw new RuntimeException();
+        }
+
+        return result;
+    }
+
+    private RepositoryRegistryStorage() {}
+}
@@ -0,0 +1,44 @@
+package ru.joke.git.shared;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.UnaryOperator;
+
+public final class ResultStreamWriter {
+
+    private final JsonService jsonService;
+    private final Appendable output;
+    private final Flushable flushable;
+    private final UnaryOperator<Object> envelope;
+
+    public <T extends Appendable & Flushable> ResultStreamWriter(
+            final JsonService jsonService,
+            final T output
+    ) {
+        this(jsonService, output, UnaryOperator.identity());
+    }
+
+    public <T extends Appendable & Flushable> ResultStreamWriter(
+            final JsonService jsonService,
+            final T output,
+            final UnaryOperator<Object> envelope
+    ) {
+        this.jsonService = jsonService;
+        this.output = output;
+        this.flushable = output;
+        this.envelope = envelope;
+    }
+
+    public void write(final Object result) {
+        final var resultAsJson = this.jsonService.serializeCompact(this.envelope.apply(result));
+        synchronized (this.output) {
+            try {
+                this.output.append(resultAsJson).append('\n');
+                this.flushable.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.joke.git.shared;
+
+import java.util.function.Supplier;
+
+public abstract class ResultStreamWriterStorage {
+
+    private static final ScopedValue<ResultStreamWriter> scopedResultStreamWriter = ScopedValue.newInstance();
+
+    private static volatile ResultStreamWriter defaultResultStreamWriter;
+
+    public static void setResultStreamWriter(ResultStreamWriter resultStreamWriter) {
+        defaultResultStreamWriter = resultStreamWriter;
+    }
+
+    public static ResultStreamWriter getResultStreamWriter() {
+        final var result = findResultStreamWriter();
+        if (result == null) {
+            throw new RuntimeException();
+        }
+
+        return result;
+    }
+
+    public static ResultStreamWriter findResultStreamWriter() {
+        return scopedResultStreamWriter.isBound() ? scopedResultStreamWriter.get() : defaultResultStreamWriter;
+    }
+
+    public static void runWith(final ResultStreamWriter resultStreamWriter, final Runnable action) {
+        if (resultStreamWriter == null) {
+            action.run();
+        } else {
+            ScopedValue.where(scopedResultStreamWriter, resultStreamWriter).run(action);
+        }
+    }
+
+    public static <T> T callWith(final ResultStreamWriter resultStreamWriter, final Supplier<T> action) {
+        return resultStreamWriter == null
+                ? action.get()
+                : ScopedValue.where(scopedResultStreamWriter, resultStreamWriter).call(action::get);
+    }
+
+    private ResultStreamWriterStorage() {}
+}
@@ -0,0 +1,68 @@
+package ru.joke.git.shared.auth;
+
+import org.eclipse.jgit.errors.TransportException;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.RemoteSession;
+import org.eclipse.jgit.transport.SshSessionFactory;
+import org.eclipse.jgit.transport.URIish;
+import org.eclipse.jgit.util.FS;
+
+import java.util.concurrent.Callable;
+
+public final class LazySshSessionFactory extends SshSessionFactory {
+
+    private final String type;
+    private final Callable<SshSessionFactory> delegateFactory;
+    private volatile SshSessionFactory delegate;
+
+    public LazySshSessionFactory(
+            final String type,
+            final Callable<SshSessionFactory> delegateFactory
+    ) {
+        this.type = type;
+        this.delegateFactory = delegateFactory;
+    }
+
+    @Override
+    public RemoteSession getSession(
+            final URIish uri,
+            final CredentialsProvider credentialsProvider,
+            final FS fs,
+            final int tms
+    ) throws TransportException {
+        return getDelegate(uri).getSession(uri, credentialsProvider, fs, tms);
+    }
+
+    @Override
+    public void releaseSession(final RemoteSession session) {
+        final var delegate = this.delegate;
+        if (delegate != null) {
+            delegate.releaseSession(session);
+        }
+    }
+
+    @Override
+    public String getType() {
+        return this.type;
+    }
+
+    private SshSessionFactory getDelegate(final URIish uri) throws TransportException {
+        var result = this.delegate;
+        if (result == null) {
+            synchronized (this) {
+                result = this.delegate;
+                if (result == null) {
+                    try {
+                        result = this.delegateFactory.call();
+                    } catch (Exception e) {
+                        throw new TransportException(uri, "Unable to initialize ssh session factory", e);
+                    }
+
+                    this.delegate = result;
+                }
+            }
+        }
+
+        return result;
+    }
+}
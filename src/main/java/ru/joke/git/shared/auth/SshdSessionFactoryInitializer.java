@@ -27,19 +27,32 @@ import java.util.List;
 
 public final class SshdSessionFactoryInitializer {
 
-    public void initialize(
+    private static final String SSHD_TYPE = "mina-sshd";
+    private static final String JSCH_TYPE = "jsch";
+
+    public void initializeLazily(
+            final String privateKeyFilePath,
+            final String passPhrase,
+            final boolean useLegacyKexAlgorithms
+    ) {
+        final var lazySshSessionFactory =
+                new LazySshSessionFactory(
+                        useLegacyKexAlgorithms ? JSCH_TYPE : SSHD_TYPE,
+                        () -> createSshSessionFactory(privateKeyFilePath, passPhrase, useLegacyKexAlgorithms)
+                );
+        SshdSessionFactory.setInstance(lazySshSessionFactory);
+    }
+
+    private SshSessionFactory createSshSessionFactory(
             final String privateKeyFilePath,
             final String passPhrase,
             final boolean useLegacyKexAlgorithms
     ) throws IOException, GeneralSecurityException {
         final var privateKeyPath = Path.of(privateKeyFilePath);
 
-        final var sshSessionFactory =
-                useLegacyKexAlgorithms
-                        ? createSshSessionFactoryWithLegacyKexSupport(privateKeyPath, passPhrase)
-                        : createDefaultSshSessionFactory(privateKeyPath, passPhrase);
-
-        SshdSessionFactory.setInstance(sshSessionFactory);
+        return useLegacyKexAlgorithms
+                ? createSshSessionFactoryWithLegacyKexSupport(privateKeyPath, passPhrase)
+                : createDefaultSshSessionFactory(privateKeyPath, passPhrase);
     }
 
     private SshSessionFactory createSshSessionFactoryWithLegacyKexSupport(
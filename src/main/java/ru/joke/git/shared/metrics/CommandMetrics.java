@@ -0,0 +1,137 @@
+package ru.joke.git.shared.metrics;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+final class CommandMetrics implements CommandMetricsMXBean {
+
+    private final String alias;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder packBytesAdded = new LongAdder();
+    private final LongAdder packedObjectsAdded = new LongAdder();
+    private final LongAdder looseBytesAdded = new LongAdder();
+    private final LongAdder looseObjectsAdded = new LongAdder();
+    private final AtomicBoolean registered = new AtomicBoolean();
+
+    CommandMetrics(final String alias) {
+        this.alias = alias;
+    }
+
+    String alias() {
+        return this.alias;
+    }
+
+    boolean markRegistered() {
+        return this.registered.compareAndSet(false, true);
+    }
+
+    void started() {
+        this.inFlight.incrementAndGet();
+    }
+
+    void completed(final long durationNanos, final boolean failed) {
+        this.inFlight.decrementAndGet();
+        this.latency.record(durationNanos);
+        if (failed) {
+            this.errors.increment();
+        }
+    }
+
+    void packsAdded(final long bytes, final long objects) {
+        this.packBytesAdded.add(bytes);
+        this.packedObjectsAdded.add(objects);
+    }
+
+    void looseObjectsAdded(final long bytes, final long objects) {
+        this.looseBytesAdded.add(bytes);
+        this.looseObjectsAdded.add(objects);
+    }
+
+    @Override
+    public long getCount() {
+        return this.latency.count();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return this.errors.sum();
+    }
+
+    @Override
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        return this.latency.meanMillis();
+    }
+
+    @Override
+    public long getMaxLatencyMillis() {
+        return this.latency.maxMillis();
+    }
+
+    @Override
+    public long getP50LatencyMillis() {
+        return this.latency.percentileMillis(0.5);
+    }
+
+    @Override
+    public long getP90LatencyMillis() {
+        return this.latency.percentileMillis(0.9);
+    }
+
+    @Override
+    public long getP99LatencyMillis() {
+        return this.latency.percentileMillis(0.99);
+    }
+
+    @Override
+    public long getPackBytesAdded() {
+        return this.packBytesAdded.sum();
+    }
+
+    @Override
+    public long getPackedObjectsAdded() {
+        return this.packedObjectsAdded.sum();
+    }
+
+    @Override
+    public long getLooseBytesAdded() {
+        return this.looseBytesAdded.sum();
+    }
+
+    @Override
+    public long getLooseObjectsAdded() {
+        return this.looseObjectsAdded.sum();
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(
+                this.alias,
+                getErrorCount(),
+                getInFlight(),
+                getPackBytesAdded(),
+                getPackedObjectsAdded(),
+                getLooseBytesAdded(),
+                getLooseObjectsAdded(),
+                this.latency.snapshot()
+        );
+    }
+
+    public record Snapshot(
+            String command,
+            long errors,
+            int inFlight,
+            long packBytesAdded,
+            long packedObjectsAdded,
+            long looseBytesAdded,
+            long looseObjectsAdded,
+            LatencyHistogram.Snapshot latency
+    ) {
+    }
+}
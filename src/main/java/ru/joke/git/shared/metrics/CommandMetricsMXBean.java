@@ -0,0 +1,28 @@
+package ru.joke.git.shared.metrics;
+
+public interface CommandMetricsMXBean {
+
+    long getCount();
+
+    long getErrorCount();
+
+    int getInFlight();
+
+    double getMeanLatencyMillis();
+
+    long getMaxLatencyMillis();
+
+    long getP50LatencyMillis();
+
+    long getP90LatencyMillis();
+
+    long getP99LatencyMillis();
+
+    long getPackBytesAdded();
+
+    long getPackedObjectsAdded();
+
+    long getLooseBytesAdded();
+
+    long getLooseObjectsAdded();
+}
@@ -0,0 +1,221 @@
+package ru.joke.git.shared.metrics;
+
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.internal.storage.file.Pack;
+import org.eclipse.jgit.lib.Constants;
+import ru.joke.git.shared.GitStorage;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public final class CommandMetricsRegistry {
+
+    private static final String JMX_DOMAIN = "ru.joke.git";
+    private static final String JGIT_METRICS_OBJECT_NAME = JMX_DOMAIN + ":type=JGitMetrics";
+    private static final String COMMAND_METRICS_OBJECT_NAME = JMX_DOMAIN + ":type=CommandMetrics,command=%s";
+
+    private final Map<String, CommandMetrics> commandMetrics = new ConcurrentHashMap<>();
+    private final JGitMetrics jgitMetrics = new JGitMetrics();
+    private final Map<File, RepositoryObjects> repositoryObjectsByDirectory = new ConcurrentHashMap<>();
+    private volatile boolean jmxEnabled;
+
+    public synchronized void enableJmx() {
+        if (this.jmxEnabled) {
+            return;
+        }
+
+        registerMBean(this.jgitMetrics, JGIT_METRICS_OBJECT_NAME);
+        this.jmxEnabled = true;
+        this.commandMetrics.values().forEach(this::registerIfNeed);
+    }
+
+    public <T> T measure(
+            final String alias,
+            final boolean topLevel,
+            final Supplier<T> action
+    ) {
+        final var metrics = this.commandMetrics.computeIfAbsent(alias, CommandMetrics::new);
+        if (this.jmxEnabled) {
+            registerIfNeed(metrics);
+        }
+
+        final var repository = topLevel ? findFileRepository() : null;
+        final var repositoryObjects = repository == null ? null : findRepositoryObjects(repository);
+        final var startedCommand = repositoryObjects == null ? 0 : repositoryObjects.commandStarted();
+
+        metrics.started();
+        final var startedAt = System.nanoTime();
+        boolean failed = true;
+        try {
+            final var result = action.get();
+            failed = false;
+            return result;
+        } finally {
+            metrics.completed(System.nanoTime() - startedAt, failed);
+            if (repositoryObjects != null) {
+                try {
+                    collectAddedObjects(repository, repositoryObjects, repositoryObjects.isExclusive(startedCommand) ? metrics : null);
+                } finally {
+                    repositoryObjects.activeCommands.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    public MetricsSnapshot snapshot() {
+        final var commandSnapshots =
+                this.commandMetrics.values()
+                                    .stream()
+                                    .map(CommandMetrics::snapshot)
+                                    .sorted(Comparator.comparing(CommandMetrics.Snapshot::command))
+                                    .toList();
+        return new MetricsSnapshot(commandSnapshots, this.jgitMetrics.snapshot());
+    }
+
+    private void registerIfNeed(final CommandMetrics metrics) {
+        if (metrics.markRegistered()) {
+            registerMBean(metrics, COMMAND_METRICS_OBJECT_NAME.formatted(ObjectName.quote(metrics.alias())));
+        }
+    }
+
+    private void registerMBean(final Object mbean, final String objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, new ObjectName(objectName));
+        } catch (JMException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static FileRepository findFileRepository() {
+        final var git = GitStorage.findGit();
+        return git != null && git.getRepository() instanceof FileRepository repository ? repository : null;
+    }
+
+    private RepositoryObjects findRepositoryObjects(final FileRepository repository) {
+        return this.repositoryObjectsByDirectory.computeIfAbsent(repository.getObjectsDirectory().getAbsoluteFile(), k -> new RepositoryObjects(repository));
+    }
+
+    private void collectAddedObjects(
+            final FileRepository repository,
+            final RepositoryObjects repositoryObjects,
+            final CommandMetrics metrics
+    ) {
+        long packBytes = 0;
+        long packedObjects = 0;
+        for (final var pack : repository.getObjectDatabase().getPacks()) {
+            if (repositoryObjects.knownPacks.add(pack.getPackName())) {
+                packBytes += pack.getPackFile().length();
+                packedObjects += countObjects(pack);
+            }
+        }
+
+        if (packBytes > 0) {
+            if (metrics != null) {
+                metrics.packsAdded(packBytes, packedObjects);
+            }
+            this.jgitMetrics.packsAdded(packBytes, packedObjects);
+        }
+
+        final var looseObjects = LooseObjects.collect(repository);
+        final var previousLooseObjects = repositoryObjects.looseObjects.getAndSet(looseObjects);
+        final var addedLooseObjects = looseObjects.count() - previousLooseObjects.count();
+        final var addedLooseBytes = looseObjects.bytes() - previousLooseObjects.bytes();
+        if (addedLooseObjects > 0) {
+            if (metrics != null) {
+                metrics.looseObjectsAdded(Math.max(addedLooseBytes, 0), addedLooseObjects);
+            }
+            this.jgitMetrics.looseObjectsAdded(Math.max(addedLooseBytes, 0), addedLooseObjects);
+        }
+    }
+
+    private static Set<String> findPackNames(final FileRepository repository) {
+        final Set<String> result = ConcurrentHashMap.newKeySet();
+        for (final var pack : repository.getObjectDatabase().getPacks()) {
+            result.add(pack.getPackName());
+        }
+
+        return result;
+    }
+
+    private static long countObjects(final Pack pack) {
+        try {
+            return pack.getIndex().getObjectCount();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static final class RepositoryObjects {
+
+        private final Set<String> knownPacks;
+        private final AtomicReference<LooseObjects> looseObjects;
+        private final AtomicInteger activeCommands = new AtomicInteger();
+        private final AtomicLong startedCommands = new AtomicLong();
+
+        private RepositoryObjects(final FileRepository repository) {
+            this.knownPacks = findPackNames(repository);
+            this.looseObjects = new AtomicReference<>(LooseObjects.collect(repository));
+        }
+
+        private long commandStarted() {
+            final var startedCommand = this.startedCommands.incrementAndGet();
+            return this.activeCommands.incrementAndGet() == 1 ? startedCommand : -startedCommand;
+        }
+
+        private boolean isExclusive(final long startedCommand) {
+            return startedCommand > 0 && this.startedCommands.get() == startedCommand;
+        }
+    }
+
+    private record LooseObjects(
+            long count,
+            long bytes
+    ) {
+
+        private static final int FAN_OUT_DIRECTORY_NAME_LENGTH = 2;
+        private static final int LOOSE_OBJECT_NAME_LENGTH = Constants.OBJECT_ID_STRING_LENGTH - FAN_OUT_DIRECTORY_NAME_LENGTH;
+
+        private static LooseObjects collect(final FileRepository repository) {
+            final var fanOutDirectories = repository.getObjectsDirectory().listFiles(
+                    file -> file.getName().length() == FAN_OUT_DIRECTORY_NAME_LENGTH && file.isDirectory()
+            );
+            if (fanOutDirectories == null) {
+                return new LooseObjects(0, 0);
+            }
+
+            long count = 0;
+            long bytes = 0;
+            for (final var fanOutDirectory : fanOutDirectories) {
+                final var objectFiles = fanOutDirectory.listFiles(file -> file.getName().length() == LOOSE_OBJECT_NAME_LENGTH);
+                if (objectFiles == null) {
+                    continue;
+                }
+
+                for (final var objectFile : objectFiles) {
+                    count++;
+                    bytes += objectFile.length();
+                }
+            }
+
+            return new LooseObjects(count, bytes);
+        }
+    }
+
+    public record MetricsSnapshot(
+            List<CommandMetrics.Snapshot> commands,
+            JGitMetrics.Snapshot jgit
+    ) {
+    }
+}
@@ -0,0 +1,16 @@
+package ru.joke.git.shared.metrics;
+
+public abstract class CommandMetricsRegistryStorage {
+
+    private static volatile CommandMetricsRegistry metricsRegistry;
+
+    public static void setMetricsRegistry(final CommandMetricsRegistry registry) {
+        metricsRegistry = registry;
+    }
+
+    public static CommandMetricsRegistry findMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    private CommandMetricsRegistryStorage() {}
+}
@@ -0,0 +1,103 @@
+package ru.joke.git.shared.metrics;
+
+import org.eclipse.jgit.storage.file.WindowCacheStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+final class JGitMetrics implements JGitMetricsMXBean {
+
+    private final LongAdder packBytesAdded = new LongAdder();
+    private final LongAdder packedObjectsAdded = new LongAdder();
+    private final LongAdder looseBytesAdded = new LongAdder();
+    private final LongAdder looseObjectsAdded = new LongAdder();
+
+    void packsAdded(final long bytes, final long objects) {
+        this.packBytesAdded.add(bytes);
+        this.packedObjectsAdded.add(objects);
+    }
+
+    void looseObjectsAdded(final long bytes, final long objects) {
+        this.looseBytesAdded.add(bytes);
+        this.looseObjectsAdded.add(objects);
+    }
+
+    @Override
+    public long getWindowCacheHitCount() {
+        return WindowCacheStats.getStats().getHitCount();
+    }
+
+    @Override
+    public long getWindowCacheMissCount() {
+        return WindowCacheStats.getStats().getMissCount();
+    }
+
+    @Override
+    public double getWindowCacheHitRatio() {
+        return WindowCacheStats.getStats().getHitRatio();
+    }
+
+    @Override
+    public long getWindowCacheEvictionCount() {
+        return WindowCacheStats.getStats().getEvictionCount();
+    }
+
+    @Override
+    public long getWindowCacheOpenFileCount() {
+        return WindowCacheStats.getStats().getOpenFileCount();
+    }
+
+    @Override
+    public long getWindowCacheOpenByteCount() {
+        return WindowCacheStats.getStats().getOpenByteCount();
+    }
+
+    @Override
+    public long getPackBytesAdded() {
+        return this.packBytesAdded.sum();
+    }
+
+    @Override
+    public long getPackedObjectsAdded() {
+        return this.packedObjectsAdded.sum();
+    }
+
+    @Override
+    public long getLooseBytesAdded() {
+        return this.looseBytesAdded.sum();
+    }
+
+    @Override
+    public long getLooseObjectsAdded() {
+        return this.looseObjectsAdded.sum();
+    }
+
+    Snapshot snapshot() {
+        final var windowCacheStats = WindowCacheStats.getStats();
+        return new Snapshot(
+                windowCacheStats.getHitCount(),
+                windowCacheStats.getMissCount(),
+                windowCacheStats.getHitRatio(),
+                windowCacheStats.getEvictionCount(),
+                windowCacheStats.getOpenFileCount(),
+                windowCacheStats.getOpenByteCount(),
+                getPackBytesAdded(),
+                getPackedObjectsAdded(),
+                getLooseBytesAdded(),
+                getLooseObjectsAdded()
+        );
+    }
+
+    public record Snapshot(
+            long windowCacheHits,
+            long windowCacheMisses,
+            double windowCacheHitRatio,
+            long windowCacheEvictions,
+            long windowCacheOpenFiles,
+            long windowCacheOpenBytes,
+            long packBytesAdded,
+            long packedObjectsAdded,
+            long looseBytesAdded,
+            long looseObjectsAdded
+    ) {
+    }
+}
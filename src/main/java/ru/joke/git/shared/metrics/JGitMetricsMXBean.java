@@ -0,0 +1,24 @@
+package ru.joke.git.shared.metrics;
+
+public interface JGitMetricsMXBean {
+
+    long getWindowCacheHitCount();
+
+    long getWindowCacheMissCount();
+
+    double getWindowCacheHitRatio();
+
+    long getWindowCacheEvictionCount();
+
+    long getWindowCacheOpenFileCount();
+
+    long getWindowCacheOpenByteCount();
+
+    long getPackBytesAdded();
+
+    long getPackedObjectsAdded();
+
+    long getLooseBytesAdded();
+
+    long getLooseObjectsAdded();
+}
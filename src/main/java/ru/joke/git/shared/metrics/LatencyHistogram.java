@@ -0,0 +1,107 @@
+package ru.joke.git.shared.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS_MILLIS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000, 300_000 };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(final long durationNanos) {
+        this.buckets.incrementAndGet(findBucket(TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+        this.count.increment();
+        this.totalNanos.add(durationNanos);
+        this.maxNanos.accumulateAndGet(durationNanos, Math::max);
+    }
+
+    long count() {
+        return this.count.sum();
+    }
+
+    double meanMillis() {
+        final var count = this.count.sum();
+        return count == 0 ? 0 : (double) this.totalNanos.sum() / count / 1_000_000;
+    }
+
+    long maxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxNanos.get());
+    }
+
+    long percentileMillis(final double quantile) {
+        long total = 0;
+        for (int i = 0; i < this.buckets.length(); i++) {
+            total += this.buckets.get(i);
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        final var rank = (long) Math.ceil(quantile * total);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            cumulative += this.buckets.get(i);
+            if (cumulative >= rank) {
+                return Math.min(BUCKET_BOUNDS_MILLIS[i], maxMillis());
+            }
+        }
+
+        return maxMillis();
+    }
+
+    Snapshot snapshot() {
+        final var bucketSnapshots = new ArrayList<Bucket>(this.buckets.length());
+        for (int i = 0; i < this.buckets.length(); i++) {
+            final var bucketCount = this.buckets.get(i);
+            if (bucketCount > 0) {
+                bucketSnapshots.add(new Bucket(i < BUCKET_BOUNDS_MILLIS.length ? BUCKET_BOUNDS_MILLIS[i] : null, bucketCount));
+            }
+        }
+
+        return new Snapshot(
+                count(),
+                meanMillis(),
+                maxMillis(),
+                percentileMillis(0.5),
+                percentileMillis(0.9),
+                percentileMillis(0.99),
+                bucketSnapshots
+        );
+    }
+
+    private static int findBucket(final long durationMillis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (durationMillis <= BUCKET_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+
+        return BUCKET_BOUNDS_MILLIS.length;
+    }
+
+    public record Snapshot(
+            long count,
+            double meanMillis,
+            long maxMillis,
+            long p50Millis,
+            long p90Millis,
+            long p99Millis,
+            List<Bucket> buckets
+    ) {
+    }
+
+    public record Bucket(
+            Long upperBoundMillis,
+            long count
+    ) {
+    }
+}
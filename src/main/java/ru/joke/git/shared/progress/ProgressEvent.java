@@ -0,0 +1,12 @@
+package ru.joke.git.shared.progress;
+
+public record ProgressEvent(
+        long taskId,
+        String command,
+        String repository,
+        String task,
+        long completed,
+        long total,
+        boolean finished
+) {
+}
@@ -0,0 +1,95 @@
+package ru.joke.git.shared.progress;
+
+import org.eclipse.jgit.lib.ProgressMonitor;
+import ru.joke.git.shared.GitStorage;
+import ru.joke.git.shared.JsonService;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class ProgressReporter implements AutoCloseable {
+
+    private static final int MAX_IDLE_REPORTS = 60;
+
+    private final JsonService jsonService;
+    private final PrintStream output;
+    private final Map<Long, TaskProgress> activeTasks = new ConcurrentHashMap<>();
+    private final AtomicLong taskCounter = new AtomicLong();
+    private final ScheduledExecutorService reportingExecutor;
+
+    public ProgressReporter(
+            final JsonService jsonService,
+            final PrintStream output,
+            final Duration interval
+    ) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Progress reporting interval must be positive");
+        }
+
+        this.jsonService = jsonService;
+        this.output = output;
+        this.reportingExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("auto-git-progress").factory());
+        this.reportingExecutor.scheduleAtFixedRate(this::report, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public ProgressMonitor createMonitor(final String command) {
+        final var git = GitStorage.findGit();
+        final var repository = git == null ? null : String.valueOf(git.getRepository().getDirectory());
+        return new ReportingProgressMonitor(this, command, repository);
+    }
+
+    @Override
+    public void close() {
+        this.reportingExecutor.shutdown();
+        try {
+            this.reportingExecutor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        report();
+    }
+
+    TaskProgress register(
+            final String command,
+            final String repository,
+            final String title,
+            final long total
+    ) {
+        final var task = new TaskProgress(this.taskCounter.incrementAndGet(), command, repository, title, total);
+        this.activeTasks.put(task.id(), task);
+        return task;
+    }
+
+    private synchronized void report() {
+        final var events = new StringBuilder();
+        for (final var task : this.activeTasks.values()) {
+            final var event = task.pollEvent();
+            if (event == null) {
+                if (task.idleReports() > MAX_IDLE_REPORTS) {
+                    this.activeTasks.remove(task.id());
+                }
+
+                continue;
+            }
+
+            events.append(this.jsonService.serializeCompact(event)).append(System.lineSeparator());
+            if (event.finished()) {
+                this.activeTasks.remove(task.id());
+            }
+        }
+
+        if (!events.isEmpty()) {
+            synchronized (this.output) {
+                this.output.print(events);
+                this.output.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.joke.git.shared.progress;
+
+import org.eclipse.jgit.lib.ProgressMonitor;
+
+final class ReportingProgressMonitor implements ProgressMonitor {
+
+    private final ProgressReporter reporter;
+    private final String command;
+    private final String repository;
+
+    private volatile TaskProgress currentTask;
+
+    ReportingProgressMonitor(
+            final ProgressReporter reporter,
+            final String command,
+            final String repository
+    ) {
+        this.reporter = reporter;
+        this.command = command;
+        this.repository = repository;
+    }
+
+    @Override
+    public void start(final int totalTasks) {
+    }
+
+    @Override
+    public void beginTask(final String title, final int totalWork) {
+        endTask();
+        this.currentTask = this.reporter.register(this.command, this.repository, title, totalWork == UNKNOWN ? 0 : totalWork);
+    }
+
+    @Override
+    public void update(final int completed) {
+        final var task = this.currentTask;
+        if (task != null) {
+            task.update(completed);
+        }
+    }
+
+    @Override
+    public void endTask() {
+        final var task = this.currentTask;
+        if (task != null) {
+            task.finish();
+            this.currentTask = null;
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public void showDuration(final boolean enabled) {
+    }
+}
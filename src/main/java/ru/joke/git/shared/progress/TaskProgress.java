@@ -0,0 +1,60 @@
+package ru.joke.git.shared.progress;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class TaskProgress {
+
+    private final long id;
+    private final String command;
+    private final String repository;
+    private final String title;
+    private final long total;
+    private final AtomicLong completed = new AtomicLong();
+
+    private volatile boolean finished;
+    private long reportedCompleted = -1;
+    private int idleReports;
+
+    TaskProgress(
+            final long id,
+            final String command,
+            final String repository,
+            final String title,
+            final long total
+    ) {
+        this.id = id;
+        this.command = command;
+        this.repository = repository;
+        this.title = title;
+        this.total = total;
+    }
+
+    long id() {
+        return this.id;
+    }
+
+    void update(final int completed) {
+        this.completed.addAndGet(completed);
+    }
+
+    void finish() {
+        this.finished = true;
+    }
+
+    int idleReports() {
+        return this.idleReports;
+    }
+
+    ProgressEvent pollEvent() {
+        final var finished = this.finished;
+        final var completed = this.completed.get();
+        if (completed == this.reportedCompleted && !finished) {
+            this.idleReports++;
+            return null;
+        }
+
+        this.idleReports = 0;
+        this.reportedCompleted = completed;
+        return new ProgressEvent(this.id, this.command, this.repository, this.title, completed, this.total, finished);
+    }
+}
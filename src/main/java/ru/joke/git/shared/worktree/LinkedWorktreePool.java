@@ -0,0 +1,126 @@
+package ru.joke.git.shared.worktree;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public final class LinkedWorktreePool implements AutoCloseable {
+
+    private static final String WORKTREES_ADMIN_DIR = "worktrees";
+    private static final String WORKTREE_NAME_PREFIX = "auto-git-";
+    private static final String GITDIR_PREFIX = "gitdir: ";
+    private static final String COMMON_DIR_RELATIVE_PATH = "../..";
+
+    private final List<Git> worktrees;
+    private final BlockingQueue<Git> idleWorktrees;
+
+    public LinkedWorktreePool(
+            final Repository repository,
+            final Path worktreesRoot,
+            final int size
+    ) throws IOException {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Worktree pool size must be positive");
+        }
+
+        final var headId = repository.resolve(Constants.HEAD);
+        if (headId == null) {
+            throw new IllegalStateException("Unable to create linked worktrees for repository without HEAD commit");
+        }
+
+        this.worktrees = new ArrayList<>(size);
+        this.idleWorktrees = new ArrayBlockingQueue<>(size);
+
+        try {
+            for (int i = 0; i < size; i++) {
+                final var worktree = openOrCreate(repository, worktreesRoot, WORKTREE_NAME_PREFIX + i, headId);
+                this.worktrees.add(worktree);
+                this.idleWorktrees.add(worktree);
+            }
+        } catch (IOException | RuntimeException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    public Git acquire() throws InterruptedException {
+        return this.idleWorktrees.take();
+    }
+
+    public void release(final Git worktree) {
+        try {
+            detachHead(worktree.getRepository());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            this.idleWorktrees.add(worktree);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.worktrees.forEach(worktree -> worktree.getRepository().close());
+    }
+
+    private Git openOrCreate(
+            final Repository repository,
+            final Path worktreesRoot,
+            final String name,
+            final ObjectId headId
+    ) throws IOException {
+        final var adminDir = repository.getCommonDirectory().toPath().resolve(WORKTREES_ADMIN_DIR).resolve(name);
+        final var worktreeDir = worktreesRoot.resolve(name).toAbsolutePath();
+
+        if (!Files.isDirectory(adminDir) || !Files.isDirectory(worktreeDir)) {
+            Files.createDirectories(adminDir);
+            Files.createDirectories(worktreeDir);
+
+            Files.writeString(adminDir.resolve(Constants.HEAD), headId.name() + '\n');
+            Files.writeString(adminDir.resolve(Constants.COMMONDIR_FILE), COMMON_DIR_RELATIVE_PATH + '\n');
+            Files.writeString(adminDir.resolve(Constants.GITDIR_FILE), worktreeDir.resolve(Constants.DOT_GIT) + "\n");
+            Files.writeString(worktreeDir.resolve(Constants.DOT_GIT), GITDIR_PREFIX + adminDir.toAbsolutePath() + '\n');
+        }
+
+        final var worktreeRepository =
+                new FileRepositoryBuilder()
+                        .setGitDir(adminDir.toFile())
+                        .setWorkTree(worktreeDir.toFile())
+                        .setup()
+                        .build();
+        try {
+            detachHead(worktreeRepository);
+        } catch (IOException | RuntimeException ex) {
+            worktreeRepository.close();
+            throw ex;
+        }
+
+        return Git.wrap(worktreeRepository);
+    }
+
+    private static void detachHead(final Repository worktreeRepository) throws IOException {
+        final var head = worktreeRepository.exactRef(Constants.HEAD);
+        if (head == null || !head.isSymbolic() || head.getObjectId() == null) {
+            return;
+        }
+
+        final var headUpdate = worktreeRepository.updateRef(Constants.HEAD, true);
+        headUpdate.setNewObjectId(head.getObjectId());
+        headUpdate.disableRefLog();
+
+        final var updateResult = headUpdate.forceUpdate();
+        switch (updateResult) {
+            case NEW, FORCED, NO_CHANGE -> {}
+            default -> throw new IOException("Unable to detach HEAD of linked worktree " + worktreeRepository.getDirectory() + ": " + updateResult);
+        }
+    }
+}
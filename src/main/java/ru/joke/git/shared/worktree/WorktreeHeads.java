@@ -0,0 +1,58 @@
+package ru.joke.git.shared.worktree;
+
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+public final class WorktreeHeads {
+
+    private static final String WORKTREES_ADMIN_DIR = "worktrees";
+    private static final String SYMREF_PREFIX = "ref: ";
+
+    public static Set<String> findCheckedOutBranches(final Repository repository) throws IOException {
+        final var commonDir = repository.getCommonDirectory().toPath();
+        final Set<String> result = new HashSet<>();
+
+        final var bare = repository.getConfig().getBoolean(ConfigConstants.CONFIG_CORE_SECTION, ConfigConstants.CONFIG_KEY_BARE, false);
+        if (!bare) {
+            addCheckedOutBranch(commonDir.resolve(Constants.HEAD), result);
+        }
+
+        final var worktreesDir = commonDir.resolve(WORKTREES_ADMIN_DIR);
+        if (Files.isDirectory(worktreesDir)) {
+            try (final var adminDirs = Files.newDirectoryStream(worktreesDir)) {
+                for (final var adminDir : adminDirs) {
+                    addCheckedOutBranch(adminDir.resolve(Constants.HEAD), result);
+                }
+            }
+        }
+
+        if (!repository.isBare()) {
+            final var currentBranch = repository.getFullBranch();
+            if (currentBranch != null && currentBranch.startsWith(Constants.R_HEADS)) {
+                result.add(currentBranch);
+            }
+        }
+
+        return result;
+    }
+
+    private static void addCheckedOutBranch(final Path headFile, final Set<String> result) throws IOException {
+        if (!Files.isRegularFile(headFile)) {
+            return;
+        }
+
+        final var head = Files.readString(headFile).trim();
+        if (head.startsWith(SYMREF_PREFIX)) {
+            result.add(head.substring(SYMREF_PREFIX.length()).trim());
+        }
+    }
+
+    private WorktreeHeads() {}
+}